@@ -0,0 +1,155 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.better_mobs;
+
+import com.mojang.serialization.Lifecycle;
+import net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.EquipmentResolver.ResolvedEquipment;
+import net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.config.ArmorPiece;
+import net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.config.BetterMobsConfigKey;
+import net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.config.EquipmentRollTable;
+import net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.config.MobLoadout;
+import net.minecraft.SharedConstants;
+import net.minecraft.core.Holder;
+import net.minecraft.core.HolderSet;
+import net.minecraft.core.MappedRegistry;
+import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.BuiltInRegistries;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.Bootstrap;
+import net.minecraft.world.entity.EquipmentSlotGroup;
+import net.minecraft.world.item.ArmorItem;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.enchantment.Enchantment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for resolving a roll table against the registries and for enchanting the rolled
+ * armor, the work getItemForTypeAndMaterial and applyArmorEnchantments used to do.
+ * <p>
+ * Items and mob effects come from the bootstrapped built-in registries. Enchantments are data
+ * pack entries that only exist on a running server, so they come from a stub registry of plain
+ * armor enchantments instead. Run with {@code ./gradlew jmh -PjmhIncludes=EquipmentResolver}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EquipmentResolverBenchmark {
+    private static final String[] GEAR_TYPES = {"leather", "chainmail", "iron", "gold", "diamond"};
+    private static final String[] ENCHANTMENTS = {
+        "protection", "fire_protection", "blast_protection", "projectile_protection", "thorns"
+    };
+
+    private EquipmentRollTable table;
+    private EquipmentResolver resolver;
+    private ArmorPiece[] pieces;
+    private MobLoadout loadout;
+    private Random random;
+    private long seed;
+
+    @Setup
+    public void setup() {
+        SharedConstants.tryDetectVersion();
+        Bootstrap.bootStrap();
+
+        List<String> entries = new ArrayList<>();
+        for (String gearType : GEAR_TYPES) {
+            entries.add(BetterMobsConfigKey.GEAR_TYPES.name() + ":" + gearType + ":20");
+        }
+        pieces = ArmorPiece.values();
+        for (ArmorPiece piece : pieces) {
+            // Every piece spawns, so every roll enchants armor
+            entries.add(BetterMobsConfigKey.ARMOR_CHANCES.name() + ":" + piece.getPropertyName() + ":100");
+            for (String enchantment : ENCHANTMENTS) {
+                entries.add(piece.getEnchantmentsKey().name() + ":" + enchantment + ":30");
+            }
+        }
+        entries.add(BetterMobsConfigKey.ENCHANTMENT_LEVELS.name() + ":min_level:1");
+        entries.add(BetterMobsConfigKey.ENCHANTMENT_LEVELS.name() + ":max_level:3");
+        entries.add(BetterMobsConfigKey.POTION_EFFECTS.name() + ":speed:5");
+        entries.add(BetterMobsConfigKey.POTION_EFFECTS.name() + ":strength:5");
+        table = EquipmentRollTable.compile(entries);
+
+        resolver = new EquipmentResolver(new RegistryAccess.ImmutableRegistryAccess(
+                List.of(BuiltInRegistries.ITEM, BuiltInRegistries.MOB_EFFECT, createEnchantmentRegistry())));
+        loadout = new MobLoadout();
+        random = new Random();
+    }
+
+    /**
+     * Resolves the whole roll table from scratch, as done on the first spawn after a config load.
+     */
+    @Benchmark
+    public ResolvedEquipment resolveTable() {
+        resolver.clear();
+        return resolver.resolve(table);
+    }
+
+    /**
+     * Looks up the already resolved table, as done on every spawn.
+     */
+    @Benchmark
+    public ResolvedEquipment resolveCached() {
+        return resolver.resolve(table);
+    }
+
+    /**
+     * Rolls one mob's loadout and creates and enchants its armor, as the spawn path does.
+     */
+    @Benchmark
+    public void enchantArmor(Blackhole blackhole) {
+        random.setSeed(seed++);
+        table.roll(random, loadout);
+        ResolvedEquipment resolved = resolver.resolve(loadout.getTable());
+        for (ArmorPiece piece : pieces) {
+            if (!loadout.hasArmor(piece)) {
+                continue;
+            }
+            Item item = resolved.getArmorItem(piece, loadout.getGearTypeIndex());
+            if (item == null) {
+                continue;
+            }
+            ItemStack stack = new ItemStack(item);
+            BetterMobsModule.applyArmorEnchantments(stack, piece, loadout, resolved, random);
+            blackhole.consume(stack);
+        }
+    }
+
+    /**
+     * Builds a registry holding a stub of every benchmarked enchantment, each applicable to all
+     * armor items and compatible with each other.
+     */
+    private static Registry<Enchantment> createEnchantmentRegistry() {
+        List<Holder<Item>> armorItems = new ArrayList<>();
+        for (Item item : BuiltInRegistries.ITEM) {
+            if (item instanceof ArmorItem) {
+                armorItems.add(BuiltInRegistries.ITEM.wrapAsHolder(item));
+            }
+        }
+        HolderSet<Item> supportedItems = HolderSet.direct(armorItems);
+
+        MappedRegistry<Enchantment> registry = new MappedRegistry<>(Registries.ENCHANTMENT, Lifecycle.stable());
+        for (String name : ENCHANTMENTS) {
+            ResourceLocation id = ResourceLocation.withDefaultNamespace(name);
+            Enchantment enchantment = Enchantment.enchantment(Enchantment.definition(supportedItems, 10, 4,
+                    Enchantment.dynamicCost(1, 11), Enchantment.dynamicCost(12, 11), 1,
+                    EquipmentSlotGroup.ARMOR)).build(id);
+            Registry.register(registry, ResourceKey.create(Registries.ENCHANTMENT, id), enchantment);
+        }
+        registry.freeze();
+        return registry;
+    }
+}
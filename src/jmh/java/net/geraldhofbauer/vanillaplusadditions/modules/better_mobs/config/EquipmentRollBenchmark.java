@@ -0,0 +1,73 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.config;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the Better Mobs config parsing and spawn decoration paths, using the default
+ * above_zero list. Run with {@code ./gradlew jmh -PjmhIncludes=EquipmentRoll}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EquipmentRollBenchmark {
+    private List<String> entries;
+    private EquipmentRollTable table;
+    private MobLoadout loadout;
+    private Random random;
+    private long seed;
+
+    @Setup
+    public void setup() {
+        entries = BetterMobsConfig.getAboveZeroConf();
+        table = EquipmentRollTable.compile(entries);
+        loadout = new MobLoadout();
+        random = new Random();
+    }
+
+    /**
+     * Parses the raw entries into nested maps, as the inspection getters do.
+     */
+    @Benchmark
+    public Map<BetterMobsConfigKey, Map<String, Integer>> convertToKeyMap() {
+        return BetterMobsConfig.convertToKeyMap(entries);
+    }
+
+    /**
+     * Compiles the raw entries into a roll table, as done on every config load.
+     */
+    @Benchmark
+    public EquipmentRollTable compileRollTable() {
+        return EquipmentRollTable.compile(entries);
+    }
+
+    /**
+     * Rolls one mob's equipment into a reused loadout, as the spawn path does.
+     */
+    @Benchmark
+    public MobLoadout rollLoadout() {
+        random.setSeed(seed++);
+        table.roll(random, loadout);
+        return loadout;
+    }
+
+    /**
+     * Rolls one mob's equipment into a map, as {@link BetterMobsConfig#getRandomEquipmentSetupForMob} does.
+     */
+    @Benchmark
+    public Map<BetterMobsConfigKey, List<String>> randomEquipmentSetupForMob() {
+        MobLoadout freshLoadout = new MobLoadout();
+        table.roll(new Random(seed++), freshLoadout);
+        return BetterMobsConfig.toEquipmentMap(freshLoadout);
+    }
+}
@@ -0,0 +1,65 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.hostile_zombified_piglins.models;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark for the zombified piglin target selection against a player snapshot.
+ * Players are placed without a level, so only positions are set.
+ * Run with {@code ./gradlew jmh -PjmhIncludes=PlayerSnapshot}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PlayerSnapshotBenchmark {
+    private static final int PIGLIN_COUNT = 1024;
+    private static final double RANGE_SQ = 32 * 32;
+    private static final double SWITCH_FACTOR_SQ = 0.8 * 0.8;
+
+    @Param({"1", "8", "64"})
+    private int playerCount;
+
+    private PlayerSnapshot snapshot;
+    private double[] piglinPositions;
+    private int[] currentTargets;
+    private int next;
+
+    @Setup
+    public void setup() {
+        Random random = new Random(42);
+        snapshot = new PlayerSnapshot();
+        for (int i = 0; i < playerCount; i++) {
+            snapshot.add(null, random.nextDouble() * 64, 64 + random.nextDouble() * 16, random.nextDouble() * 64);
+        }
+
+        piglinPositions = new double[PIGLIN_COUNT * 3];
+        currentTargets = new int[PIGLIN_COUNT];
+        for (int i = 0; i < PIGLIN_COUNT; i++) {
+            piglinPositions[i * 3] = random.nextDouble() * 96 - 16;
+            piglinPositions[i * 3 + 1] = 64 + random.nextDouble() * 16;
+            piglinPositions[i * 3 + 2] = random.nextDouble() * 96 - 16;
+            // Half of the piglins already have a target
+            currentTargets[i] = random.nextBoolean() ? random.nextInt(playerCount) : -1;
+        }
+    }
+
+    /**
+     * Selects the target of one piglin, cycling through the piglin positions.
+     */
+    @Benchmark
+    public int selectTarget() {
+        int piglin = next;
+        next = (next + 1) % PIGLIN_COUNT;
+        return snapshot.selectTarget(piglinPositions[piglin * 3], piglinPositions[piglin * 3 + 1],
+                piglinPositions[piglin * 3 + 2], RANGE_SQ, currentTargets[piglin], SWITCH_FACTOR_SQ);
+    }
+}
@@ -2,10 +2,18 @@ package net.geraldhofbauer.vanillaplusadditions.core;
 
 import net.geraldhofbauer.vanillaplusadditions.core.AbstractModuleConfig.DefaultModuleConfig;
 import net.neoforged.bus.api.IEventBus;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.minecraft.server.MinecraftServer;
 import net.neoforged.fml.ModContainer;
+import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.server.ServerLifecycleHooks;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Function;
 
 /**
@@ -22,6 +30,14 @@ public abstract class AbstractModule<M extends Module, C extends ModuleConfig> i
     private IEventBus modEventBus;
     private ModContainer modContainer;
 
+    // Cached enabled state, refreshed by ModulesConfig on every config load
+    private volatile boolean enabled = true;
+    // Timers of instrumented event handlers, created during construction
+    private final List<HandlerTimer> handlerTimers = new ArrayList<>();
+
+    // Enabled state last applied to the event bus and module state; only changed on the server thread
+    private boolean active;
+
     /**
      * Creates a new abstract module.
      *
@@ -61,6 +77,25 @@ public abstract class AbstractModule<M extends Module, C extends ModuleConfig> i
         return logger;
     }
 
+    /**
+     * Creates a timer for one of this module's event handlers. Call this from a field initializer
+     * or the constructor and wrap the handler body with {@link HandlerTimer#start()} and
+     * {@link HandlerTimer#stop(long)}.
+     *
+     * @param handlerName The name of the handler, shown in /vpamodules timings
+     * @return The new timer
+     */
+    protected final HandlerTimer createHandlerTimer(String handlerName) {
+        HandlerTimer timer = new HandlerTimer(moduleId, handlerName);
+        handlerTimers.add(timer);
+        return timer;
+    }
+
+    @Override
+    public List<HandlerTimer> getHandlerTimers() {
+        return Collections.unmodifiableList(handlerTimers);
+    }
+
     /**
      * Gets the configuration instance for this module.
      * 
@@ -96,6 +131,10 @@ public abstract class AbstractModule<M extends Module, C extends ModuleConfig> i
         // Call the implementation-specific initialization
         onInitialize();
 
+        // Game event listeners are only registered while the module is enabled
+        enabled = config.isEnabled();
+        applyEnabledState();
+
         logger.debug("Module initialized: {}", displayName);
     }
 
@@ -171,21 +210,93 @@ public abstract class AbstractModule<M extends Module, C extends ModuleConfig> i
 
     /**
      * Helper method to check if this specific module is enabled.
+     * This is a single volatile read, so event handlers can call it first thing on every event.
      */
     public boolean isModuleEnabled() {
-        // During initialization, assume enabled if isInitialized is true
-        // After initialization, check configuration
+        // During initialization, assume enabled
+        // After initialization, use the state cached from the last config load
+        return !isInitialized() || enabled;
+    }
+
+    /**
+     * Updates the cached enabled state and registers or unregisters this module's game event
+     * listeners accordingly, so a disabled module costs no event dispatch time.
+     * <p>
+     * Listener registration and {@link #onEnable()}/{@link #onDisable()} run on the server thread,
+     * since module state is owned by it; config reloads arrive on a file watcher thread.
+     *
+     * @param enabled The new enabled state
+     */
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
         if (!isInitialized()) {
-            return true;
+            return; // Applied by initialize()
         }
 
-        try {
-            return config.isEnabled();
-        } catch (Exception e) {
-            // If config not available yet, return true to allow initialization
-            logger.debug("Config not available during module enabled check: {}", e.getMessage());
-            return false;
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server != null && !server.isSameThread()) {
+            server.execute(this::applyEnabledState);
+        } else {
+            applyEnabledState();
+        }
+    }
+
+    /**
+     * Brings the event bus registration and module state in line with the cached enabled state.
+     * Does nothing if they already match, so repeated or superseded toggles are harmless.
+     */
+    private synchronized void applyEnabledState() {
+        boolean shouldBeActive = enabled;
+        if (shouldBeActive == active) {
+            return;
+        }
+        active = shouldBeActive;
+
+        boolean hasListeners = hasGameEventListeners();
+        if (shouldBeActive) {
+            if (hasListeners) {
+                NeoForge.EVENT_BUS.register(this);
+            }
+            onEnable();
+            logger.debug("Activated module: {}", displayName);
+        } else {
+            if (hasListeners) {
+                NeoForge.EVENT_BUS.unregister(this);
+            }
+            onDisable();
+            logger.debug("Deactivated module: {}", displayName);
+        }
+    }
+
+    /**
+     * Override this method to rebuild state after the module was enabled at runtime.
+     * Game events that happened while the module was disabled were not received.
+     * Also called once during initialization if the module starts enabled.
+     */
+    protected void onEnable() {
+        // Default empty implementation
+    }
+
+    /**
+     * Override this method to release state held by the module after it was disabled at runtime,
+     * such as tracking maps and queued work.
+     */
+    protected void onDisable() {
+        // Default empty implementation
+    }
+
+    /**
+     * Checks whether this module has any @SubscribeEvent methods. The event bus refuses to
+     * register objects without any.
+     */
+    private boolean hasGameEventListeners() {
+        for (Method method : getClass().getMethods()) {
+            if (method.isAnnotationPresent(SubscribeEvent.class)) {
+                return true;
+            }
         }
+        return false;
     }
 
 }
\ No newline at end of file
@@ -33,6 +33,9 @@ public abstract class AbstractModuleConfig<M extends Module, C extends ModuleCon
     // Standard configuration values that all modules have
     private ModConfigSpec.BooleanValue enabled;
     private ModConfigSpec.EnumValue<DebugLoggingMode> debugLogging;
+
+    // Standard values captured in onConfigLoad, replaced as a whole on reload (null until first load)
+    private volatile StandardSnapshot standardSnapshot;
     
     // Module reference for getting default values
     private final M module;
@@ -85,8 +88,9 @@ public abstract class AbstractModuleConfig<M extends Module, C extends ModuleCon
     
     @Override
     public void onConfigLoad(ModConfigSpec spec) {
-        // Default implementation - subclasses can override if needed
+        // Subclasses overriding this must call super first so the standard snapshot is current
         if (enabled != null && debugLogging != null) {
+            standardSnapshot = new StandardSnapshot(enabled.get(), debugLogging.get());
             LOGGER.debug("Configuration loaded for module: {} - enabled: {}, debug logging: {}",
                     getConfigSectionName(), enabled.get(), debugLogging.get());
         }
@@ -99,6 +103,10 @@ public abstract class AbstractModuleConfig<M extends Module, C extends ModuleCon
     
     @Override
     public boolean isEnabled() {
+        StandardSnapshot snapshot = standardSnapshot;
+        if (snapshot != null) {
+            return snapshot.enabled();
+        }
         if (enabled == null) {
             // Configuration not built yet, return module default
             LOGGER.debug("Config not built yet for {}, returning default: {}", 
@@ -142,11 +150,7 @@ public abstract class AbstractModuleConfig<M extends Module, C extends ModuleCon
      * @return true if debug logging should be enabled for this module
      */
     public boolean isDebugLoggingEnabled() {
-        if (debugLogging != null) {
-            DebugLoggingMode mode = debugLogging.get();
-            return mode == DebugLoggingMode.ON;
-        }
-        return false;
+        return getDebugLoggingMode() == DebugLoggingMode.ON;
     }
     
     /**
@@ -167,22 +171,35 @@ public abstract class AbstractModuleConfig<M extends Module, C extends ModuleCon
      * @return true if debug logging should be enabled
      */
     public boolean shouldDebugLog() {
-        if (debugLogging != null) {
-            DebugLoggingMode mode = debugLogging.get();
-            switch (mode) {
-                case ON:
-                    return true;
-                case OFF:
-                    return false;
-                case AUTO:
-                default:
-                    // Fall back to global debug logging setting
-                    return ModulesConfig.isGlobalDebugLoggingEnabled();
-            }
+        switch (getDebugLoggingMode()) {
+            case ON:
+                return true;
+            case OFF:
+                return false;
+            case AUTO:
+            default:
+                // Fall back to global debug logging setting (also used if config not loaded yet)
+                return ModulesConfig.isGlobalDebugLoggingEnabled();
         }
-        
-        // Fallback if config not loaded yet - use global setting
-        return ModulesConfig.isGlobalDebugLoggingEnabled();
+    }
+
+    /**
+     * Gets the debug logging mode from the loaded snapshot, falling back to the raw config value
+     * before the first load.
+     */
+    private DebugLoggingMode getDebugLoggingMode() {
+        StandardSnapshot snapshot = standardSnapshot;
+        if (snapshot != null) {
+            return snapshot.debugLogging();
+        }
+        return debugLogging != null ? debugLogging.get() : DebugLoggingMode.AUTO;
+    }
+
+    /**
+     * Immutable copy of the standard properties, published on every config load so hot paths
+     * read plain fields instead of going through {@link ModConfigSpec.ConfigValue#get()}.
+     */
+    private record StandardSnapshot(boolean enabled, DebugLoggingMode debugLogging) {
     }
     
     /**
@@ -0,0 +1,171 @@
+package net.geraldhofbauer.vanillaplusadditions.core;
+
+import java.util.Arrays;
+
+/**
+ * Low-overhead timer for a single module event handler.
+ * <p>
+ * Records the call count, total and maximum time and a latency histogram. Only every Nth call
+ * is timed, as configured by {@code handlerTimingSampleRate}; with the default of 0 a call costs
+ * a single volatile read. The histogram uses log-linear buckets (8 per power of two, so values
+ * are accurate to 12.5%) in a fixed array, so recording never allocates.
+ * <p>
+ * Timers are written and read on the server thread only.
+ * <p>
+ * Usage:
+ * <pre>{@code
+ * long start = timer.start();
+ * handleEvent(event);
+ * timer.stop(start);
+ * }</pre>
+ */
+public final class HandlerTimer {
+    /**
+     * Returned by {@link #start()} for calls that are not timed.
+     */
+    public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT;
+
+    private final String moduleId;
+    private final String handlerName;
+    private final long[] buckets = new long[BUCKET_COUNT];
+    private long calls;
+    private long sampledCalls;
+    private long totalNanos;
+    private long maxNanos;
+
+    HandlerTimer(String moduleId, String handlerName) {
+        this.moduleId = moduleId;
+        this.handlerName = handlerName;
+    }
+
+    /**
+     * Counts a call and, if it is sampled, returns its start time.
+     *
+     * @return The start time in nanoseconds, or {@link #NOT_SAMPLED}
+     */
+    public long start() {
+        int sampleRate = ModulesConfig.getHandlerTimingSampleRate();
+        if (sampleRate <= 0) {
+            return NOT_SAMPLED;
+        }
+        return calls++ % sampleRate == 0 ? System.nanoTime() : NOT_SAMPLED;
+    }
+
+    /**
+     * Records the duration of a call started with {@link #start()}.
+     *
+     * @param start The value returned by {@link #start()}
+     */
+    public void stop(long start) {
+        if (start == NOT_SAMPLED) {
+            return;
+        }
+        long nanos = Math.max(0, System.nanoTime() - start);
+        sampledCalls++;
+        totalNanos += nanos;
+        if (nanos > maxNanos) {
+            maxNanos = nanos;
+        }
+        buckets[bucketIndex(nanos)]++;
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    private static long bucketLowerBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKET_COUNT + SUB_BUCKET_BITS - 1;
+        long subBucket = index % SUB_BUCKET_COUNT;
+        return (SUB_BUCKET_COUNT + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * Gets the latency at the given percentile of the sampled calls.
+     *
+     * @param percentile The percentile, between 0 and 100
+     * @return The highest latency in nanoseconds of the bucket the percentile falls into, or 0 without samples
+     */
+    public long getPercentileNanos(double percentile) {
+        if (sampledCalls == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * sampledCalls));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets[i];
+            if (seen >= rank) {
+                long upperBound = i + 1 < BUCKET_COUNT ? bucketLowerBound(i + 1) - 1 : Long.MAX_VALUE;
+                return Math.min(upperBound, maxNanos);
+            }
+        }
+        return maxNanos;
+    }
+
+    /**
+     * Gets the total time of all calls, extrapolated from the sampled ones.
+     *
+     * @return The estimated total time in nanoseconds
+     */
+    public long getEstimatedTotalNanos() {
+        return sampledCalls == 0 ? 0 : (long) ((double) totalNanos / sampledCalls * calls);
+    }
+
+    /**
+     * Clears all recorded calls and timings.
+     */
+    public void reset() {
+        Arrays.fill(buckets, 0);
+        calls = 0;
+        sampledCalls = 0;
+        totalNanos = 0;
+        maxNanos = 0;
+    }
+
+    public String getModuleId() {
+        return moduleId;
+    }
+
+    public String getHandlerName() {
+        return handlerName;
+    }
+
+    /**
+     * Gets the number of calls counted while sampling was enabled.
+     */
+    public long getCalls() {
+        return calls;
+    }
+
+    public long getSampledCalls() {
+        return sampledCalls;
+    }
+
+    public long getTotalNanos() {
+        return totalNanos;
+    }
+
+    public long getMaxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Gets the mean time of the sampled calls.
+     *
+     * @return The mean time in nanoseconds, or 0 without samples
+     */
+    public long getMeanNanos() {
+        return sampledCalls == 0 ? 0 : totalNanos / sampledCalls;
+    }
+}
@@ -1,8 +1,12 @@
 package net.geraldhofbauer.vanillaplusadditions.core;
 
+import com.mojang.brigadier.CommandDispatcher;
+import net.minecraft.commands.CommandSourceStack;
 import net.neoforged.bus.api.IEventBus;
 import net.neoforged.fml.ModContainer;
 
+import java.util.List;
+
 /**
  * Base interface for all VanillaPlusAdditions modules.
  * Each module represents a self-contained feature or group of related features.
@@ -77,6 +81,46 @@ public interface Module {
         return true;
     }
 
+    /**
+     * Called after initialization whenever the module's enabled state is re-evaluated,
+     * e.g. after a configuration reload. Modules should stop reacting to events while disabled.
+     *
+     * @param enabled The new enabled state
+     */
+    default void setEnabled(boolean enabled) {
+        // Default empty implementation
+    }
+
+    /**
+     * Registers this module's commands. Called for every module, enabled or not, because commands
+     * are only registered on server start and /reload; commands should check the enabled state in
+     * their {@code requires} predicate, so they become available once the module is enabled.
+     *
+     * @param dispatcher The command dispatcher
+     */
+    default void registerCommands(CommandDispatcher<CommandSourceStack> dispatcher) {
+        // Default empty implementation
+    }
+
+    /**
+     * Gets the timers of this module's instrumented event handlers.
+     *
+     * @return The handler timers, empty if the module has none
+     */
+    default List<HandlerTimer> getHandlerTimers() {
+        return List.of();
+    }
+
+    /**
+     * Gets runtime counters of this module for /vpamodules list, e.g. to compare before and after
+     * a config change.
+     *
+     * @return One line per counter, empty if the module has none
+     */
+    default List<String> getStatusLines() {
+        return List.of();
+    }
+
     /**
      * Gets the configuration instance for this module.
      * All modules must have a configuration instance, even if it only contains
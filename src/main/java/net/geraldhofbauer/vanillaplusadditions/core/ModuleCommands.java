@@ -0,0 +1,167 @@
+package net.geraldhofbauer.vanillaplusadditions.core;
+
+import com.mojang.brigadier.arguments.StringArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.suggestion.SuggestionProvider;
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
+import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.network.chat.Component;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.neoforged.bus.api.SubscribeEvent;
+import net.neoforged.fml.common.EventBusSubscriber;
+import net.neoforged.neoforge.event.RegisterCommandsEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Operator commands for managing modules at runtime.
+ * <p>
+ * Commands:
+ * - /vpamodules list - Shows all modules, whether they are enabled and their runtime counters
+ * - /vpamodules enable &lt;module&gt; - Enables a module until the next config reload
+ * - /vpamodules disable &lt;module&gt; - Disables a module until the next config reload,
+ *   e.g. to shed an expensive module during a lag spike
+ * - /vpamodules timings [reset] - Shows or resets the event handler timings of all modules
+ * <p>
+ * Also registers the commands of all modules, since module listeners are not registered while
+ * the module is disabled.
+ */
+@EventBusSubscriber(modid = "vanillaplusadditions")
+public final class ModuleCommands {
+    private ModuleCommands() {
+        // Utility class - prevent instantiation
+    }
+    private static final Logger LOGGER = LoggerFactory.getLogger(ModuleCommands.class);
+
+    private static final SuggestionProvider<CommandSourceStack> MODULE_SUGGESTIONS = (context, builder) ->
+            SharedSuggestionProvider.suggest(
+                    ModuleManager.getInstance().getAllModules().stream().map(Module::getModuleId),
+                    builder);
+
+    @SubscribeEvent
+    static void onRegisterCommands(RegisterCommandsEvent event) {
+        event.getDispatcher().register(
+                Commands.literal("vpamodules")
+                        .requires(source -> source.hasPermission(2)) // OP level 2
+                        .then(Commands.literal("list")
+                                .executes(ModuleCommands::executeList)
+                        )
+                        .then(Commands.literal("enable")
+                                .then(Commands.argument("module", StringArgumentType.word())
+                                        .suggests(MODULE_SUGGESTIONS)
+                                        .executes(context -> executeSetEnabled(context, true))
+                                )
+                        )
+                        .then(Commands.literal("disable")
+                                .then(Commands.argument("module", StringArgumentType.word())
+                                        .suggests(MODULE_SUGGESTIONS)
+                                        .executes(context -> executeSetEnabled(context, false))
+                                )
+                        )
+                        .then(Commands.literal("timings")
+                                .executes(ModuleCommands::executeTimings)
+                                .then(Commands.literal("reset")
+                                        .executes(ModuleCommands::executeResetTimings)
+                                )
+                        )
+        );
+
+        for (Module module : ModuleManager.getInstance().getAllModules()) {
+            module.registerCommands(event.getDispatcher());
+        }
+    }
+
+    private static int executeList(CommandContext<CommandSourceStack> context) {
+        ModuleManager moduleManager = ModuleManager.getInstance();
+        context.getSource().sendSuccess(() -> Component.literal(moduleManager.getModuleStats())
+                .withStyle(ChatFormatting.GOLD), false);
+        for (Module module : moduleManager.getAllModules()) {
+            boolean enabled = moduleManager.isModuleEnabled(module.getModuleId());
+            context.getSource().sendSuccess(() -> Component.literal(" - " + module.getModuleId() + ": ")
+                    .withStyle(ChatFormatting.GRAY)
+                    .append(Component.literal(enabled ? "ENABLED" : "DISABLED")
+                            .withStyle(enabled ? ChatFormatting.GREEN : ChatFormatting.RED)), false);
+            for (String line : module.getStatusLines()) {
+                context.getSource().sendSuccess(() -> Component.literal("   " + line)
+                        .withStyle(ChatFormatting.DARK_GRAY), false);
+            }
+        }
+        return moduleManager.getEnabledModules().size();
+    }
+
+    /**
+     * Shows the handler timings of all modules in chat and writes them to the log.
+     */
+    private static int executeTimings(CommandContext<CommandSourceStack> context) {
+        CommandSourceStack source = context.getSource();
+        int sampleRate = ModulesConfig.getHandlerTimingSampleRate();
+        if (sampleRate <= 0) {
+            source.sendSuccess(() -> Component.literal("Handler timing is off. Set handlerTimingSampleRate "
+                            + "in the config to enable it.")
+                    .withStyle(ChatFormatting.YELLOW), false);
+        } else {
+            source.sendSuccess(() -> Component.literal("Handler timings (1 in " + sampleRate + " calls sampled):")
+                    .withStyle(ChatFormatting.GOLD), false);
+        }
+
+        int timerCount = 0;
+        for (Module module : ModuleManager.getInstance().getAllModules()) {
+            for (HandlerTimer timer : module.getHandlerTimers()) {
+                if (timer.getCalls() == 0) {
+                    continue;
+                }
+                String line = String.format("%s.%s: %d calls (%d sampled), mean %.1f µs, p99 %.1f µs, "
+                                + "max %.1f µs, total ~%.1f ms",
+                        timer.getModuleId(), timer.getHandlerName(), timer.getCalls(), timer.getSampledCalls(),
+                        timer.getMeanNanos() / 1000.0, timer.getPercentileNanos(99) / 1000.0,
+                        timer.getMaxNanos() / 1000.0, timer.getEstimatedTotalNanos() / 1_000_000.0);
+                source.sendSuccess(() -> Component.literal(" - " + line).withStyle(ChatFormatting.GRAY), false);
+                LOGGER.info("Handler timing {}", line);
+                timerCount++;
+            }
+        }
+        return timerCount;
+    }
+
+    private static int executeResetTimings(CommandContext<CommandSourceStack> context) {
+        for (Module module : ModuleManager.getInstance().getAllModules()) {
+            for (HandlerTimer timer : module.getHandlerTimers()) {
+                timer.reset();
+            }
+        }
+        context.getSource().sendSuccess(() -> Component.literal("Handler timings reset")
+                .withStyle(ChatFormatting.GREEN), true);
+        return 1;
+    }
+
+    private static int executeSetEnabled(CommandContext<CommandSourceStack> context, boolean enabled) {
+        String moduleId = StringArgumentType.getString(context, "module");
+        boolean changed;
+        try {
+            changed = ModuleManager.getInstance().setEnabled(moduleId, enabled);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            context.getSource().sendFailure(Component.literal(e.getMessage()).withStyle(ChatFormatting.RED));
+            return 0;
+        }
+
+        String state = enabled ? "enabled" : "disabled";
+        if (!changed) {
+            context.getSource().sendSuccess(() -> Component.literal("Module " + moduleId + " is already " + state)
+                    .withStyle(ChatFormatting.YELLOW), false);
+            return 0;
+        }
+        // Module commands check the enabled state, so clients need the updated command tree
+        MinecraftServer server = context.getSource().getServer();
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            server.getCommands().sendCommands(player);
+        }
+
+        context.getSource().sendSuccess(() -> Component.literal("Module " + moduleId + " " + state
+                        + " until the next config reload")
+                .withStyle(ChatFormatting.GREEN), true);
+        return 1;
+    }
+}
@@ -8,6 +8,7 @@ import org.slf4j.LoggerFactory;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -20,9 +21,11 @@ public final class ModuleManager {
     private static final Logger LOGGER = LoggerFactory.getLogger(ModuleManager.class);
     
     private static volatile ModuleManager instance;
-    private final Map<String, Module> registeredModules = new ConcurrentHashMap<>();
+    // Registration order is kept so the enabled list is stable; only written before initialization
+    private final Map<String, Module> registeredModules = Collections.synchronizedMap(new LinkedHashMap<>());
     private final Map<String, Boolean> moduleEnabledState = new ConcurrentHashMap<>();
-    private final List<Module> enabledModules = new ArrayList<>();
+    // Immutable, replaced as a whole whenever a module is enabled or disabled
+    private volatile List<Module> enabledModules = List.of();
     
     private boolean initialized = false;
     
@@ -67,14 +70,12 @@ public final class ModuleManager {
         // The actual config check will happen later during initialization
         boolean enabled = module.isEnabledByDefault();
         moduleEnabledState.put(moduleId, enabled);
-        
-        if (enabled) {
-            enabledModules.add(module);
-        }
+        publishEnabledModules();
     }
     
     /**
-     * Initializes all registered and enabled modules.
+     * Initializes all registered modules. Disabled modules are initialized as well, so they can
+     * be enabled at runtime; they just don't receive game events until then.
      * 
      * @param modEventBus The mod event bus
      * @param modContainer The mod container
@@ -86,21 +87,16 @@ public final class ModuleManager {
         }
         
         // Re-check enabled state now that configuration is available
-        enabledModules.clear();
         for (Module module : registeredModules.values()) {
             boolean configEnabled = ModulesConfig.isModuleEnabled(module);
-            String moduleId = module.getModuleId();
-            moduleEnabledState.put(moduleId, configEnabled);
-            
-            if (configEnabled) {
-                enabledModules.add(module);
-            }
+            moduleEnabledState.put(module.getModuleId(), configEnabled);
         }
+        publishEnabledModules();
         
-        LOGGER.info("Initializing {} enabled modules out of {} registered", 
-                   enabledModules.size(), registeredModules.size());
+        LOGGER.info("Initializing {} registered modules, {} enabled", 
+                   registeredModules.size(), enabledModules.size());
         
-        for (Module module : enabledModules) {
+        for (Module module : registeredModules.values()) {
             try {
                 LOGGER.debug("Initializing module: {}", module.getDisplayName());
                 module.initialize(modEventBus, modContainer);
@@ -123,9 +119,9 @@ public final class ModuleManager {
             return;
         }
         
-        LOGGER.debug("Running common setup for {} modules", enabledModules.size());
+        LOGGER.debug("Running common setup for {} modules", registeredModules.size());
         
-        for (Module module : enabledModules) {
+        for (Module module : registeredModules.values()) {
             try {
                 module.commonSetup();
             } catch (Exception e) {
@@ -143,9 +139,9 @@ public final class ModuleManager {
             return;
         }
         
-        LOGGER.debug("Running client setup for {} modules", enabledModules.size());
+        LOGGER.debug("Running client setup for {} modules", registeredModules.size());
         
-        for (Module module : enabledModules) {
+        for (Module module : registeredModules.values()) {
             try {
                 module.clientSetup();
             } catch (Exception e) {
@@ -154,6 +150,54 @@ public final class ModuleManager {
         }
     }
     
+    /**
+     * Enables or disables a module at runtime. A disabled module has its game event listeners
+     * unregistered and releases the state it holds; enabling registers them again.
+     * <p>
+     * The change lasts until the next configuration reload or restart, which applies the
+     * configured state again.
+     * 
+     * @param moduleId The module ID
+     * @param enabled Whether the module should be enabled
+     * @return true if the enabled state changed
+     * @throws IllegalArgumentException if no module with the ID is registered
+     * @throws IllegalStateException if the module cannot be disabled
+     */
+    public synchronized boolean setEnabled(String moduleId, boolean enabled) {
+        Module module = registeredModules.get(moduleId);
+        if (module == null) {
+            throw new IllegalArgumentException("Unknown module: " + moduleId);
+        }
+        if (!enabled && !module.isConfigurable()) {
+            throw new IllegalStateException("Module '" + moduleId + "' cannot be disabled");
+        }
+        
+        Boolean previous = moduleEnabledState.put(moduleId, enabled);
+        module.setEnabled(enabled);
+        publishEnabledModules();
+        
+        boolean changed = previous == null || previous != enabled;
+        if (changed) {
+            LOGGER.info("Module {} {}", moduleId, enabled ? "enabled" : "disabled");
+        }
+        return changed;
+    }
+    
+    /**
+     * Rebuilds the enabled module list from the current states and publishes it as a new immutable list.
+     */
+    private synchronized void publishEnabledModules() {
+        List<Module> enabled = new ArrayList<>();
+        synchronized (registeredModules) {
+            for (Module module : registeredModules.values()) {
+                if (moduleEnabledState.getOrDefault(module.getModuleId(), false)) {
+                    enabled.add(module);
+                }
+            }
+        }
+        enabledModules = List.copyOf(enabled);
+    }
+    
     /**
      * Gets a module by its ID.
      * 
@@ -177,7 +221,7 @@ public final class ModuleManager {
     /**
      * Gets all registered modules.
      * 
-     * @return Unmodifiable collection of all registered modules
+     * @return Unmodifiable collection of all registered modules, in registration order
      */
     public Collection<Module> getAllModules() {
         return Collections.unmodifiableCollection(registeredModules.values());
@@ -186,10 +230,10 @@ public final class ModuleManager {
     /**
      * Gets all enabled modules.
      * 
-     * @return Unmodifiable list of enabled modules
+     * @return Immutable snapshot of the enabled modules
      */
     public List<Module> getEnabledModules() {
-        return Collections.unmodifiableList(enabledModules);
+        return enabledModules;
     }
     
     /**
@@ -198,9 +242,10 @@ public final class ModuleManager {
      * @return A formatted string with module statistics
      */
     public String getModuleStats() {
+        List<Module> enabled = enabledModules;
         return String.format("Modules: %d registered, %d enabled, %d disabled", 
                            registeredModules.size(), 
-                           enabledModules.size(), 
-                           registeredModules.size() - enabledModules.size());
+                           enabled.size(), 
+                           registeredModules.size() - enabled.size());
     }
 }
\ No newline at end of file
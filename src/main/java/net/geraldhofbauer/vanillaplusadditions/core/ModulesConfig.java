@@ -30,6 +30,15 @@ public final class ModulesConfig {
 
     // Global debug logging configuration
     private static ModConfigSpec.BooleanValue globalDebugLogging;
+    // Copy of globalDebugLogging taken in onLoad, read by every shouldDebugLog() call
+    private static volatile boolean globalDebugLoggingValue;
+
+    // Handler timing sample rate, copied in onLoad and read by every instrumented handler call
+    private static ModConfigSpec.IntValue handlerTimingSampleRate;
+    // Replaces the configured sample rate if set, e.g. by the gameTestServer run so load tests time every call
+    private static final int HANDLER_TIMING_SAMPLE_RATE_OVERRIDE =
+            Integer.getInteger("vanillaplusadditions.handlerTimingSampleRate", -1);
+    private static volatile int handlerTimingSampleRateValue = Math.max(0, HANDLER_TIMING_SAMPLE_RATE_OVERRIDE);
     
     // The configuration specification - built dynamically
     private static ModConfigSpec spec = null;
@@ -60,6 +69,11 @@ public final class ModulesConfig {
         globalDebugLogging = builder
                 .comment("Enable debug logging for all modules (can be overridden by individual module settings)")
                 .define("globalDebugLogging", false);
+
+        handlerTimingSampleRate = builder
+                .comment("Time every Nth call of instrumented module event handlers, shown by /vpamodules timings "
+                        + "(0 = off, 1 = every call)")
+                .defineInRange("handlerTimingSampleRate", 0, 0, 1_000_000);
         
         builder.push("modules");
 
@@ -150,7 +164,16 @@ public final class ModulesConfig {
      * @return true if global debug logging should be enabled
      */
     public static boolean isGlobalDebugLoggingEnabled() {
-        return globalDebugLogging != null && globalDebugLogging.get();
+        return globalDebugLoggingValue;
+    }
+
+    /**
+     * Gets the handler timing sample rate.
+     *
+     * @return N to time every Nth handler call, or 0 if handler timing is off
+     */
+    public static int getHandlerTimingSampleRate() {
+        return handlerTimingSampleRateValue;
     }
 
     /**
@@ -164,6 +187,14 @@ public final class ModulesConfig {
         }
 
         LOGGER.debug("VanillaPlusAdditions module configuration loaded: {}", event.getConfig().getFileName());
+        if (!(event instanceof ModConfigEvent.Unloading)) {
+            globalDebugLoggingValue = globalDebugLogging != null && globalDebugLogging.get();
+            if (HANDLER_TIMING_SAMPLE_RATE_OVERRIDE >= 0) {
+                handlerTimingSampleRateValue = HANDLER_TIMING_SAMPLE_RATE_OVERRIDE;
+            } else {
+                handlerTimingSampleRateValue = handlerTimingSampleRate != null ? handlerTimingSampleRate.get() : 0;
+            }
+        }
 
         // Notify all configurable modules about the config load
         for (Module module : REGISTERED_MODULES) {
@@ -178,10 +209,15 @@ public final class ModulesConfig {
             }
         }
 
-        // Log the current module states
+        if (event instanceof ModConfigEvent.Unloading) {
+            return;
+        }
+
+        // Push the new enabled states to the modules and log them
         LOGGER.info("Module configuration reloaded. Current states:");
         for (Module module : REGISTERED_MODULES) {
-            boolean enabled = isModuleEnabled(module);
+            boolean enabled = isModuleEnabled(module) || !module.isConfigurable();
+            ModuleManager.getInstance().setEnabled(module.getModuleId(), enabled);
             LOGGER.info("  - {}: {}", module.getModuleId(), enabled ? "ENABLED" : "DISABLED");
         }
     }
@@ -0,0 +1,69 @@
+package net.geraldhofbauer.vanillaplusadditions.gametest;
+
+import net.geraldhofbauer.vanillaplusadditions.VanillaPlusAdditions;
+import net.geraldhofbauer.vanillaplusadditions.core.HandlerTimer;
+import net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.BetterMobsModule;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.EquipmentSlot;
+import net.minecraft.world.entity.monster.Monster;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+import java.util.List;
+
+/**
+ * Load test for the Better Mobs module: thousands of mixed monsters joining the level.
+ * Asserts on the cost of decorating a single mob and of the decoration done per tick.
+ */
+@GameTestHolder(VanillaPlusAdditions.MODID)
+@PrefixGameTestTemplate(false)
+public final class BetterMobsLoadTest {
+    private static final int MOB_COUNT = 5000;
+    private static final int MOBS_PER_TICK = 250;
+    // Creepers are not enabled by default, so the early exit is part of the mix
+    private static final List<EntityType<? extends Monster>> MOB_TYPES = List.of(
+            EntityType.ZOMBIE, EntityType.SKELETON, EntityType.HUSK, EntityType.STRAY,
+            EntityType.SPIDER, EntityType.WITCH, EntityType.PILLAGER, EntityType.CREEPER);
+    private static final long MAX_JOIN_P99_MICROS = 1000;
+    private static final long MAX_JOIN_MEAN_MICROS = 100;
+    private static final long MAX_MICROS_PER_TICK = 10_000;
+
+    private BetterMobsLoadTest() {
+    }
+
+    @GameTest(template = LoadTestSupport.ARENA, batch = "vanillaplusadditions_better_mobs_load", timeoutTicks = 200)
+    public static void mixedMonsterSpawns(GameTestHelper helper) {
+        LoadTestState.run(state -> {
+            BetterMobsModule module = state.enableModule("better_mobs", BetterMobsModule.class);
+            HandlerTimer joinTimer = state.startTiming(module, "onEntityJoinLevel");
+
+            int spawnTicks = LoadTestSupport.spawnOverTicks(helper, state, MOB_COUNT, MOBS_PER_TICK,
+                    i -> helper.spawn(MOB_TYPES.get(i % MOB_TYPES.size()), LoadTestSupport.cell(i)));
+
+            helper.runAfterDelay(spawnTicks + 1, state.step(() -> {
+                List<Monster> monsters = helper.getLevel().getEntitiesOfClass(Monster.class, helper.getBounds());
+                long decorated = monsters.stream()
+                        .filter(monster -> monster.hasItemInSlot(EquipmentSlot.HEAD)
+                                || monster.hasItemInSlot(EquipmentSlot.CHEST)
+                                || monster.hasItemInSlot(EquipmentSlot.LEGS)
+                                || monster.hasItemInSlot(EquipmentSlot.FEET)
+                                || !monster.getActiveEffects().isEmpty())
+                        .count();
+                helper.killAllEntitiesOfClass(Monster.class);
+
+                helper.assertTrue(joinTimer.getCalls() >= MOB_COUNT,
+                        "Only " + joinTimer.getCalls() + " of " + MOB_COUNT + " spawns reached the module");
+                helper.assertTrue(decorated > 0, "None of " + monsters.size() + " monsters got equipment or effects");
+                LoadTestSupport.assertP99Within(helper, joinTimer, MAX_JOIN_P99_MICROS);
+                long meanMicros = joinTimer.getMeanNanos() / 1000;
+                helper.assertTrue(meanMicros <= MAX_JOIN_MEAN_MICROS,
+                        "better_mobs/onEntityJoinLevel mean " + meanMicros + "us exceeds "
+                                + MAX_JOIN_MEAN_MICROS + "us");
+                LoadTestSupport.assertPerTickWithin(helper, joinTimer, spawnTicks, MAX_MICROS_PER_TICK);
+                state.succeed(helper);
+            }));
+        });
+    }
+}
@@ -0,0 +1,95 @@
+package net.geraldhofbauer.vanillaplusadditions.gametest;
+
+import com.mojang.authlib.GameProfile;
+import net.geraldhofbauer.vanillaplusadditions.VanillaPlusAdditions;
+import net.geraldhofbauer.vanillaplusadditions.core.HandlerTimer;
+import net.geraldhofbauer.vanillaplusadditions.modules.hostile_zombified_piglins.HostileZombifiedPiglinsModule;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.monster.ZombifiedPiglin;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.neoforge.common.util.FakePlayer;
+import net.neoforged.neoforge.common.util.FakePlayerFactory;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Load test for the Hostile Zombified Piglins module: a horde of piglins around a few fake players.
+ * Asserts that hostility maintenance stays within the configured tick budget and that the
+ * tracking state is released once the piglins are gone.
+ */
+@GameTestHolder(VanillaPlusAdditions.MODID)
+@PrefixGameTestTemplate(false)
+public final class HostileZombifiedPiglinsLoadTest {
+    private static final int PIGLIN_COUNT = 2000;
+    private static final int PIGLINS_PER_TICK = 200;
+    private static final int FAKE_PLAYER_COUNT = 4;
+    private static final int MEASURED_TICKS = 200;
+    // Lazily swept piglins are dropped after one full pass over the scheduler buckets
+    private static final int SWEEP_TICKS = 60;
+    private static final long MAX_JOIN_P99_MICROS = 500;
+
+    private HostileZombifiedPiglinsLoadTest() {
+    }
+
+    @GameTest(template = LoadTestSupport.ARENA, batch = "vanillaplusadditions_piglin_load", timeoutTicks = 400)
+    public static void zombifiedPiglinHorde(GameTestHelper helper) {
+        LoadTestState.run(state -> {
+            HostileZombifiedPiglinsModule module = state.enableModule("hostile_zombified_piglins",
+                    HostileZombifiedPiglinsModule.class);
+            HandlerTimer joinTimer = state.startTiming(module, "onEntityJoinLevel");
+            HandlerTimer tickTimer = state.startTiming(module, "onServerTick");
+            long tickBudgetMicros = module.getConfig().getTickBudgetMicrosValue();
+
+            ServerLevel level = helper.getLevel();
+            List<FakePlayer> players = new ArrayList<>(FAKE_PLAYER_COUNT);
+            for (int i = 0; i < FAKE_PLAYER_COUNT; i++) {
+                FakePlayer player = FakePlayerFactory.get(level,
+                        new GameProfile(UUID.randomUUID(), "vpa_load_test_" + i));
+                Vec3 position = helper.absoluteVec(Vec3.atBottomCenterOf(LoadTestSupport.cell(i * 515)));
+                player.moveTo(position.x, position.y, position.z, 0.0F, 0.0F);
+                player.setInvulnerable(true);
+                level.addNewPlayer(player);
+                players.add(player);
+            }
+
+            int spawnTicks = LoadTestSupport.spawnOverTicks(helper, state, PIGLIN_COUNT, PIGLINS_PER_TICK,
+                    i -> helper.spawn(EntityType.ZOMBIFIED_PIGLIN, LoadTestSupport.cell(i)));
+
+            helper.runAfterDelay(spawnTicks + 1, state.step(tickTimer::reset));
+
+            helper.runAfterDelay(spawnTicks + 1 + MEASURED_TICKS, state.step(() -> {
+                int alive = helper.getLevel().getEntitiesOfClass(ZombifiedPiglin.class, helper.getBounds()).size();
+                int tracked = module.getTrackedPiglinCount();
+                int angry = module.getAngryPiglinCount();
+
+                // Clean up first, so a failed assertion does not leave the horde behind
+                for (FakePlayer player : players) {
+                    level.removePlayerImmediately(player, Entity.RemovalReason.DISCARDED);
+                }
+                helper.killAllEntitiesOfClass(ZombifiedPiglin.class);
+
+                helper.assertTrue(tracked >= alive, "Only " + tracked + " of " + alive + " piglins are tracked");
+                helper.assertTrue(angry <= alive, angry + " angry piglins tracked, but only " + alive + " alive");
+                LoadTestSupport.assertP99Within(helper, joinTimer, MAX_JOIN_P99_MICROS);
+                LoadTestSupport.assertP99Within(helper, tickTimer,
+                        tickBudgetMicros + LoadTestSupport.BUDGET_SLACK_MICROS);
+            }));
+
+            helper.runAfterDelay(spawnTicks + 1 + MEASURED_TICKS + SWEEP_TICKS, state.step(() -> {
+                helper.assertTrue(module.getTrackedPiglinCount() == 0,
+                        module.getTrackedPiglinCount() + " piglins still tracked after all were removed");
+                helper.assertTrue(module.getAngryPiglinCount() == 0,
+                        module.getAngryPiglinCount() + " angry piglins still tracked after all were removed");
+                state.succeed(helper);
+            }));
+        });
+    }
+}
@@ -0,0 +1,127 @@
+package net.geraldhofbauer.vanillaplusadditions.gametest;
+
+import net.geraldhofbauer.vanillaplusadditions.core.HandlerTimer;
+import net.geraldhofbauer.vanillaplusadditions.core.Module;
+import net.geraldhofbauer.vanillaplusadditions.core.ModuleManager;
+import net.geraldhofbauer.vanillaplusadditions.core.ModulesConfig;
+import net.minecraft.gametest.framework.GameTestHelper;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Module state changed by a load test.
+ * <p>
+ * A load test forces its module on. The previous enabled state is restored when the test
+ * succeeds through {@link #succeed}, or when its setup or one of its {@link #step steps} fails,
+ * whatever was thrown. A test that times out runs neither, so its state is restored when the next
+ * load test begins.
+ * <p>
+ * The load tests need every handler call timed. The gameTestServer run sets this through the
+ * {@code vanillaplusadditions.handlerTimingSampleRate} system property, which config reloads
+ * do not override; a test fails right away if calls are sampled.
+ * <p>
+ * Only used on the server thread.
+ */
+final class LoadTestState {
+    @Nullable
+    private static LoadTestState active;
+
+    private final Map<String, Boolean> previouslyEnabled = new LinkedHashMap<>();
+
+    private LoadTestState() {
+    }
+
+    /**
+     * Runs the setup of a load test: restores whatever an earlier test left behind, then runs the
+     * test method body. The state is restored if the body fails.
+     *
+     * @param test The test method body, scheduling its later steps through {@link #step}
+     */
+    static void run(Consumer<LoadTestState> test) {
+        if (active != null) {
+            active.restore();
+        }
+        int sampleRate = ModulesConfig.getHandlerTimingSampleRate();
+        if (sampleRate != 1) {
+            throw new IllegalStateException("Load tests need every handler call timed, but handlerTimingSampleRate is "
+                    + sampleRate + "; run them with -Dvanillaplusadditions.handlerTimingSampleRate=1");
+        }
+        LoadTestState state = new LoadTestState();
+        active = state;
+        state.step(() -> test.accept(state)).run();
+    }
+
+    /**
+     * Enables a module for the test, regardless of its config.
+     *
+     * @param moduleId The module ID
+     * @param type     The module class
+     * @return The enabled module
+     */
+    <M extends Module> M enableModule(String moduleId, Class<M> type) {
+        ModuleManager manager = ModuleManager.getInstance();
+        previouslyEnabled.putIfAbsent(moduleId, manager.isModuleEnabled(moduleId));
+        manager.setEnabled(moduleId, true);
+        return type.cast(manager.getModule(moduleId));
+    }
+
+    /**
+     * Clears a handler timer of a module, so it only holds calls made during the test.
+     *
+     * @param module      The module owning the handler
+     * @param handlerName The handler name, as passed to the module's timer
+     * @return The cleared timer
+     */
+    HandlerTimer startTiming(Module module, String handlerName) {
+        for (HandlerTimer timer : module.getHandlerTimers()) {
+            if (timer.getHandlerName().equals(handlerName)) {
+                timer.reset();
+                return timer;
+            }
+        }
+        throw new IllegalArgumentException("Module " + module.getModuleId() + " has no handler timer "
+                + handlerName);
+    }
+
+    /**
+     * Wraps a test step, so the state is restored if the step fails.
+     *
+     * @param step The step to run
+     * @return The wrapped step
+     */
+    Runnable step(Runnable step) {
+        return () -> {
+            boolean completed = false;
+            try {
+                step.run();
+                completed = true;
+            } finally {
+                if (!completed) {
+                    restore();
+                }
+            }
+        };
+    }
+
+    /**
+     * Restores the state and marks the test as passed.
+     *
+     * @param helper The test helper
+     */
+    void succeed(GameTestHelper helper) {
+        restore();
+        helper.succeed();
+    }
+
+    private void restore() {
+        if (active != this) {
+            return; // Already restored
+        }
+        active = null;
+        ModuleManager manager = ModuleManager.getInstance();
+        previouslyEnabled.forEach(manager::setEnabled);
+    }
+}
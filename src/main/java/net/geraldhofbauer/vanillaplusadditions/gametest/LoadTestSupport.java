@@ -0,0 +1,102 @@
+package net.geraldhofbauer.vanillaplusadditions.gametest;
+
+import net.geraldhofbauer.vanillaplusadditions.core.HandlerTimer;
+import net.minecraft.core.BlockPos;
+import net.minecraft.gametest.framework.GameTestHelper;
+
+import java.util.function.IntConsumer;
+
+/**
+ * Shared setup and assertions for the module load tests.
+ * <p>
+ * All load tests run in {@link #ARENA}, a 48x48 smooth stone floor enclosed by barrier walls.
+ * The modules they change are tracked by {@link LoadTestState}.
+ */
+final class LoadTestSupport {
+    /**
+     * Template of the load test arena, in the {@code vanillaplusadditions} namespace.
+     */
+    static final String ARENA = "load_test_arena";
+
+    /**
+     * Slack on top of a configured tick budget: the work item that crosses the deadline still
+     * finishes, and a GC pause may land inside a timed call.
+     */
+    static final long BUDGET_SLACK_MICROS = 2000;
+
+    // Floor cells inside the barrier walls
+    private static final int ARENA_INNER_SIZE = 46;
+    private static final int FLOOR_Y = 1;
+
+    private LoadTestSupport() {
+    }
+
+    /**
+     * Gets the position of an arena floor cell, relative to the test. Indices beyond the
+     * number of cells wrap around, stacking entities on the same cells.
+     *
+     * @param index The cell index
+     * @return The position just above the floor
+     */
+    static BlockPos cell(int index) {
+        int wrapped = index % (ARENA_INNER_SIZE * ARENA_INNER_SIZE);
+        return new BlockPos(1 + wrapped % ARENA_INNER_SIZE, FLOOR_Y, 1 + wrapped / ARENA_INNER_SIZE);
+    }
+
+    /**
+     * Spawns entities spread over several ticks, so a single tick is not dominated by the spawns.
+     *
+     * @param helper  The test helper
+     * @param state   The state of the test, restored if a spawn fails
+     * @param count   The total number of entities
+     * @param perTick The number of entities spawned per tick
+     * @param spawner Spawns the entity with the given index
+     * @return The number of ticks until all entities are spawned
+     */
+    static int spawnOverTicks(GameTestHelper helper, LoadTestState state, int count, int perTick,
+                              IntConsumer spawner) {
+        int ticks = 0;
+        for (int first = 0; first < count; first += perTick) {
+            int from = first;
+            int to = Math.min(count, first + perTick);
+            helper.runAfterDelay(++ticks, state.step(() -> {
+                for (int i = from; i < to; i++) {
+                    spawner.accept(i);
+                }
+            }));
+        }
+        return ticks;
+    }
+
+    /**
+     * Asserts that the 99th percentile of a handler's calls stays within a time limit.
+     *
+     * @param helper    The test helper
+     * @param timer     The handler timer
+     * @param maxMicros The limit in microseconds
+     */
+    static void assertP99Within(GameTestHelper helper, HandlerTimer timer, long maxMicros) {
+        helper.assertTrue(timer.getSampledCalls() > 0, describe(timer) + " was never called");
+        long p99Micros = timer.getPercentileNanos(99) / 1000;
+        helper.assertTrue(p99Micros <= maxMicros,
+                describe(timer) + " p99 " + p99Micros + "us exceeds " + maxMicros + "us");
+    }
+
+    /**
+     * Asserts that the time a handler took over a number of ticks averages within a per-tick limit.
+     *
+     * @param helper    The test helper
+     * @param timer     The handler timer
+     * @param ticks     The number of ticks the calls were spread over
+     * @param maxMicros The limit per tick in microseconds
+     */
+    static void assertPerTickWithin(GameTestHelper helper, HandlerTimer timer, int ticks, long maxMicros) {
+        long perTickMicros = timer.getEstimatedTotalNanos() / 1000 / Math.max(1, ticks);
+        helper.assertTrue(perTickMicros <= maxMicros,
+                describe(timer) + " took " + perTickMicros + "us per tick, exceeds " + maxMicros + "us");
+    }
+
+    private static String describe(HandlerTimer timer) {
+        return timer.getModuleId() + "/" + timer.getHandlerName();
+    }
+}
@@ -0,0 +1,93 @@
+package net.geraldhofbauer.vanillaplusadditions.gametest;
+
+import net.geraldhofbauer.vanillaplusadditions.VanillaPlusAdditions;
+import net.geraldhofbauer.vanillaplusadditions.core.HandlerTimer;
+import net.geraldhofbauer.vanillaplusadditions.modules.mob_glow.MobGlowModule;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.decoration.ArmorStand;
+import net.minecraft.world.phys.Vec3;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+/**
+ * Load test for the Mob Glow module: {@code /mobglow} over tens of thousands of entities.
+ * Armor stands are used as targets, so vanilla entity ticking does not drown out the module's
+ * own cost. Asserts on the command's selection time, the per-tick cost of the glow jobs and
+ * that the entity index and glow trackers shrink back once the entities are gone.
+ */
+@GameTestHolder(VanillaPlusAdditions.MODID)
+@PrefixGameTestTemplate(false)
+public final class MobGlowLoadTest {
+    private static final int ENTITY_COUNT = 20_000;
+    private static final int ENTITIES_PER_TICK = 1000;
+    private static final int JOB_TICKS = 40;
+    // Selecting the targets runs inside the command, so it must fit into a single 50 ms tick
+    private static final long MAX_COMMAND_MICROS = 50_000;
+
+    private MobGlowLoadTest() {
+    }
+
+    @GameTest(template = LoadTestSupport.ARENA, batch = "vanillaplusadditions_mob_glow_load", timeoutTicks = 300)
+    public static void mobGlowOverManyEntities(GameTestHelper helper) {
+        LoadTestState.run(state -> {
+            MobGlowModule module = state.enableModule("mob_glow", MobGlowModule.class);
+            HandlerTimer tickTimer = state.startTiming(module, "onServerTick");
+            long tickBudgetMicros = module.getConfig().getTickBudgetMicrosValue();
+            int maxMobsPerCommand = module.getConfig().getMaxMobsPerCommandValue();
+            int expectedGlowing = maxMobsPerCommand > 0 ? Math.min(maxMobsPerCommand, ENTITY_COUNT) : ENTITY_COUNT;
+            int baselineIndexed = module.getIndexedEntityCount();
+            int baselineGlowing = module.getGlowingMobCount();
+
+            MinecraftServer server = helper.getLevel().getServer();
+            CommandSourceStack source = server.createCommandSourceStack()
+                    .withLevel(helper.getLevel())
+                    .withPosition(helper.absoluteVec(new Vec3(24, 1, 24)))
+                    .withSuppressedOutput();
+
+            int spawnTicks = LoadTestSupport.spawnOverTicks(helper, state, ENTITY_COUNT, ENTITIES_PER_TICK,
+                    i -> helper.spawn(EntityType.ARMOR_STAND, LoadTestSupport.cell(i)));
+
+            helper.runAfterDelay(spawnTicks + 1, state.step(() -> {
+                helper.assertTrue(module.getIndexedEntityCount() >= baselineIndexed + ENTITY_COUNT,
+                        "Only " + (module.getIndexedEntityCount() - baselineIndexed) + " of " + ENTITY_COUNT
+                                + " armor stands are indexed");
+
+                tickTimer.reset();
+                long start = System.nanoTime();
+                server.getCommands().performPrefixedCommand(source, "mobglow minecraft:armor_stand");
+                long commandMicros = (System.nanoTime() - start) / 1000;
+                helper.assertTrue(commandMicros <= MAX_COMMAND_MICROS,
+                        "/mobglow took " + commandMicros + "us, exceeds " + MAX_COMMAND_MICROS + "us");
+            }));
+
+            helper.runAfterDelay(spawnTicks + 1 + JOB_TICKS, state.step(() -> {
+                helper.assertTrue(module.getPendingJobCount() == 0,
+                        module.getPendingJobCount() + " /mobglow jobs still pending");
+                int glowing = module.getGlowingMobCount() - baselineGlowing;
+                helper.assertTrue(glowing == expectedGlowing,
+                        glowing + " armor stands glowing, expected " + expectedGlowing);
+                LoadTestSupport.assertP99Within(helper, tickTimer,
+                        tickBudgetMicros + LoadTestSupport.BUDGET_SLACK_MICROS);
+
+                server.getCommands().performPrefixedCommand(source, "mobglow minecraft:armor_stand clear");
+            }));
+
+            helper.runAfterDelay(spawnTicks + 1 + 2 * JOB_TICKS, state.step(() -> {
+                int glowing = module.getGlowingMobCount() - baselineGlowing;
+                helper.killAllEntitiesOfClass(ArmorStand.class);
+                helper.assertTrue(glowing == 0, glowing + " armor stands still tracked after clear");
+            }));
+
+            helper.runAfterDelay(spawnTicks + 2 + 2 * JOB_TICKS, state.step(() -> {
+                helper.assertTrue(module.getIndexedEntityCount() <= baselineIndexed,
+                        (module.getIndexedEntityCount() - baselineIndexed)
+                                + " armor stands still indexed after all were removed");
+                state.succeed(helper);
+            }));
+        });
+    }
+}
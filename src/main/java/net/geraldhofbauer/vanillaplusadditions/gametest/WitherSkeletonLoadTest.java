@@ -0,0 +1,176 @@
+package net.geraldhofbauer.vanillaplusadditions.gametest;
+
+import com.mojang.datafixers.util.Pair;
+import net.geraldhofbauer.vanillaplusadditions.VanillaPlusAdditions;
+import net.geraldhofbauer.vanillaplusadditions.core.HandlerTimer;
+import net.geraldhofbauer.vanillaplusadditions.modules.wither_skeleton.WitherSkeletonModule;
+import net.geraldhofbauer.vanillaplusadditions.modules.wither_skeleton.config.WitherSkeletonConfig;
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.Holder;
+import net.minecraft.core.HolderSet;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.gametest.framework.GameTest;
+import net.minecraft.gametest.framework.GameTestHelper;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.MobCategory;
+import net.minecraft.world.entity.MobSpawnType;
+import net.minecraft.world.entity.SpawnPlacements;
+import net.minecraft.world.entity.monster.Skeleton;
+import net.minecraft.world.entity.monster.WitherSkeleton;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.levelgen.structure.BuiltinStructures;
+import net.minecraft.world.level.levelgen.structure.Structure;
+import net.minecraft.world.phys.AABB;
+import net.neoforged.neoforge.gametest.GameTestHolder;
+import net.neoforged.neoforge.gametest.PrefixGameTestTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Load test for the Wither Skeleton module: a burst of skeleton spawns in a Nether fortress chunk.
+ * Asserts that every skeleton is blocked, that replacements respect the per-tick and per-chunk
+ * caps, and that the replacement queue drains.
+ * <p>
+ * The fortress is located in the Nether of the test world, outside the test structure. The
+ * GameTestServer always generates its world from seed 0, so the same fortress is used on every
+ * run there; the search is kept to a few placement regions, so it stays cheap on a cold world.
+ */
+@GameTestHolder(VanillaPlusAdditions.MODID)
+@PrefixGameTestTemplate(false)
+public final class WitherSkeletonLoadTest {
+    // In placement regions of 27 chunks, not in chunks: 2 searches the 5x5 regions around the origin
+    private static final int FORTRESS_SEARCH_RADIUS_REGIONS = 2;
+    // Below the Nether's bedrock roof
+    private static final int SCAN_TOP_Y = 120;
+    private static final int SKELETON_COUNT = 500;
+    private static final int DRAIN_TICKS = 100;
+    private static final long MAX_SPAWN_P99_MICROS = 250;
+    private static final long MAX_TICK_P99_MICROS = 2000;
+
+    private WitherSkeletonLoadTest() {
+    }
+
+    @GameTest(template = LoadTestSupport.ARENA, batch = "vanillaplusadditions_wither_skeleton_load",
+            timeoutTicks = 300)
+    public static void fortressSkeletonSpawns(GameTestHelper helper) {
+        // Prepare the fortress chunk first, so a failure here leaves no module state to restore
+        ServerLevel nether = helper.getLevel().getServer().getLevel(Level.NETHER);
+        helper.assertTrue(nether != null, "The test world has no Nether");
+        ChunkPos fortressChunk = locateFortress(helper, nether);
+        nether.setChunkForced(fortressChunk.x, fortressChunk.z, true);
+        List<BlockPos> spawnPositions = findSpawnPositions(nether, fortressChunk);
+        if (spawnPositions.isEmpty()) {
+            nether.setChunkForced(fortressChunk.x, fortressChunk.z, false);
+            helper.fail("No room for a Wither Skeleton in fortress chunk " + fortressChunk);
+            return;
+        }
+
+        LoadTestState.run(state -> {
+            WitherSkeletonModule module = state.enableModule("wither_skeleton", WitherSkeletonModule.class);
+            HandlerTimer spawnTimer = state.startTiming(module, "onEntitySpawn");
+            HandlerTimer tickTimer = state.startTiming(module, "onServerTick");
+            WitherSkeletonConfig.Snapshot config = module.getConfig().getSnapshot();
+
+            AABB chunkBounds = new AABB(fortressChunk.getMinBlockX(), nether.getMinBuildHeight(),
+                    fortressChunk.getMinBlockZ(), fortressChunk.getMaxBlockX() + 1, nether.getMaxBuildHeight(),
+                    fortressChunk.getMaxBlockZ() + 1);
+            int initialWitherSkeletons = countWitherSkeletons(nether, chunkBounds);
+            int initialMonsters = countMonsters(nether, chunkBounds);
+
+            // All skeletons spawn in one tick, so the queue has to spread the replacements
+            int spawned = 0;
+            for (int i = 0; i < SKELETON_COUNT; i++) {
+                BlockPos position = spawnPositions.get(i % spawnPositions.size());
+                if (EntityType.SKELETON.spawn(nether, position, MobSpawnType.SPAWNER) != null) {
+                    spawned++;
+                }
+            }
+            int skeletonsSpawned = spawned;
+
+            // One end-of-tick flush has run by the next tick
+            helper.runAfterDelay(1, state.step(() -> {
+                int replaced = countWitherSkeletons(nether, chunkBounds) - initialWitherSkeletons;
+                helper.assertTrue(replaced <= config.maxReplacementsPerTick(), replaced
+                        + " Wither Skeletons spawned in one tick, cap is " + config.maxReplacementsPerTick());
+            }));
+
+            helper.runAfterDelay(1 + DRAIN_TICKS, state.step(() -> {
+                int skeletons = nether.getEntitiesOfClass(Skeleton.class, chunkBounds).size();
+                int witherSkeletons = countWitherSkeletons(nether, chunkBounds);
+                int monsters = countMonsters(nether, chunkBounds);
+                int pending = module.getPendingReplacementCount();
+                int cachedChunks = module.getCachedFortressChunkCount();
+                int loadedChunks = 0;
+                for (ServerLevel level : nether.getServer().getAllLevels()) {
+                    loadedChunks += level.getChunkSource().getLoadedChunksCount();
+                }
+
+                // Clean up first, so a failed assertion does not leave the chunk loaded
+                nether.getEntitiesOfClass(WitherSkeleton.class, chunkBounds)
+                        .forEach(witherSkeleton -> witherSkeleton.remove(Entity.RemovalReason.DISCARDED));
+                nether.setChunkForced(fortressChunk.x, fortressChunk.z, false);
+
+                helper.assertTrue(skeletonsSpawned == 0, skeletonsSpawned + " skeletons were not blocked");
+                helper.assertTrue(skeletons == 0, skeletons + " skeletons are in the fortress chunk");
+                if (initialMonsters < config.maxMonstersPerChunk()) {
+                    helper.assertTrue(witherSkeletons > initialWitherSkeletons, "No skeleton was replaced");
+                }
+                helper.assertTrue(monsters <= Math.max(initialMonsters, config.maxMonstersPerChunk()),
+                        monsters + " monsters in the chunk, cap is " + config.maxMonstersPerChunk());
+                helper.assertTrue(pending == 0, pending + " replacements still queued");
+                helper.assertTrue(cachedChunks <= loadedChunks,
+                        cachedChunks + " fortress chunks cached, but only " + loadedChunks + " chunks loaded");
+                LoadTestSupport.assertP99Within(helper, spawnTimer, MAX_SPAWN_P99_MICROS);
+                LoadTestSupport.assertP99Within(helper, tickTimer, MAX_TICK_P99_MICROS);
+                state.succeed(helper);
+            }));
+        });
+    }
+
+    private static ChunkPos locateFortress(GameTestHelper helper, ServerLevel nether) {
+        Holder<Structure> fortress = nether.registryAccess().registryOrThrow(Registries.STRUCTURE)
+                .getHolderOrThrow(BuiltinStructures.FORTRESS);
+        Pair<BlockPos, Holder<Structure>> found = nether.getChunkSource().getGenerator()
+                .findNearestMapStructure(nether, HolderSet.direct(fortress), BlockPos.ZERO,
+                        FORTRESS_SEARCH_RADIUS_REGIONS, false);
+        helper.assertTrue(found != null, "No Nether fortress within " + FORTRESS_SEARCH_RADIUS_REGIONS
+                + " placement regions of the origin (seed " + nether.getSeed() + ")");
+        return new ChunkPos(found.getFirst());
+    }
+
+    /**
+     * Finds the highest position per column of the chunk where a Wither Skeleton fits, so the
+     * replacements are not dropped for lack of room.
+     */
+    private static List<BlockPos> findSpawnPositions(ServerLevel nether, ChunkPos chunk) {
+        List<BlockPos> positions = new ArrayList<>();
+        BlockPos.MutableBlockPos position = new BlockPos.MutableBlockPos();
+        for (int x = chunk.getMinBlockX(); x <= chunk.getMaxBlockX(); x++) {
+            for (int z = chunk.getMinBlockZ(); z <= chunk.getMaxBlockZ(); z++) {
+                for (int y = SCAN_TOP_Y; y > nether.getMinBuildHeight(); y--) {
+                    position.set(x, y, z);
+                    if (SpawnPlacements.isSpawnPositionOk(EntityType.WITHER_SKELETON, nether, position)
+                            && nether.noCollision(EntityType.WITHER_SKELETON.getSpawnAABB(x + 0.5, y, z + 0.5))) {
+                        positions.add(position.immutable());
+                        break;
+                    }
+                }
+            }
+        }
+        return positions;
+    }
+
+    private static int countWitherSkeletons(ServerLevel level, AABB bounds) {
+        return level.getEntities(EntityType.WITHER_SKELETON, bounds, WitherSkeleton::isAlive).size();
+    }
+
+    private static int countMonsters(ServerLevel level, AABB bounds) {
+        return level.getEntitiesOfClass(Mob.class, bounds,
+                mob -> mob.isAlive() && mob.getType().getCategory() == MobCategory.MONSTER).size();
+    }
+}
@@ -2,8 +2,11 @@ package net.geraldhofbauer.vanillaplusadditions.modules.better_mobs;
 
 import it.unimi.dsi.fastutil.objects.Object2IntMap;
 import net.geraldhofbauer.vanillaplusadditions.core.AbstractModule;
+import net.geraldhofbauer.vanillaplusadditions.core.HandlerTimer;
+import net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.EquipmentResolver.ResolvedEquipment;
+import net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.config.ArmorPiece;
 import net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.config.BetterMobsConfig;
-import net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.config.BetterMobsConfigKey;
+import net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.config.MobLoadout;
 import net.minecraft.core.Holder;
 import net.minecraft.core.HolderLookup;
 import net.minecraft.core.RegistryAccess;
@@ -13,29 +16,43 @@ import net.minecraft.network.chat.Component;
 import net.minecraft.network.chat.HoverEvent;
 import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.effect.MobEffect;
 import net.minecraft.world.effect.MobEffectInstance;
-import net.minecraft.world.effect.MobEffects;
-import net.minecraft.world.entity.EquipmentSlot;
 import net.minecraft.world.entity.monster.Monster;
+import net.minecraft.world.item.Item;
 import net.minecraft.world.item.ItemStack;
-import net.minecraft.world.item.Items;
 import net.minecraft.world.item.enchantment.Enchantment;
 import net.minecraft.world.item.enchantment.EnchantmentHelper;
-import net.minecraft.world.item.enchantment.Enchantments;
 import net.minecraft.world.item.enchantment.ItemEnchantments;
 import net.neoforged.bus.api.SubscribeEvent;
-import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
+import net.neoforged.neoforge.event.server.ServerStartingEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.server.ServerLifecycleHooks;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nullable;
-import java.util.List;
 import java.util.Random;
 import java.util.StringJoiner;
-import java.util.UUID;
 
 public class BetterMobsModule extends AbstractModule<BetterMobsModule, BetterMobsConfig> {
+    private static final ArmorPiece[] ARMOR_PIECES = ArmorPiece.values();
+
+    // Effekte werden immer auf Stufe I vergeben
+    private static final int EFFECT_AMPLIFIER = 0;
+
+    // Scratch-Objekte für den Spawn-Pfad, damit pro Mob nichts neu alloziert werden muss
+    private static final ThreadLocal<Random> RANDOM = ThreadLocal.withInitial(Random::new);
+    private static final ThreadLocal<MobLoadout> LOADOUT = ThreadLocal.withInitial(MobLoadout::new);
+
+    // Registry-aufgelöste Items, Enchantments und Effekte; existiert nur solange ein Server läuft
+    private volatile EquipmentResolver resolver;
+
+    // Timer für /vpamodules timings
+    private final HandlerTimer entityJoinTimer = createHandlerTimer("onEntityJoinLevel");
+
     public BetterMobsModule() {
         super("better_mobs",
                 "Better Mobs",
@@ -45,8 +62,7 @@ public class BetterMobsModule extends AbstractModule<BetterMobsModule, BetterMob
 
     @Override
     protected void onInitialize() {
-        // Event-Handler registrieren
-        NeoForge.EVENT_BUS.register(this);
+        // Event-Handler werden von AbstractModule registriert, solange das Modul aktiviert ist
     }
 
     @Override
@@ -56,8 +72,50 @@ public class BetterMobsModule extends AbstractModule<BetterMobsModule, BetterMob
         }
     }
 
+    @SubscribeEvent
+    public void onServerStarting(ServerStartingEvent event) {
+        resolver = new EquipmentResolver(event.getServer().registryAccess());
+    }
+
+    @SubscribeEvent
+    public void onServerStopped(ServerStoppedEvent event) {
+        resolver = null;
+    }
+
+    /**
+     * Baut den Resolver neu auf, falls das Modul erst nach dem Serverstart aktiviert wurde.
+     */
+    @Override
+    protected void onEnable() {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server != null) {
+            resolver = new EquipmentResolver(server.registryAccess());
+        }
+    }
+
+    @Override
+    protected void onDisable() {
+        resolver = null;
+    }
+
+    /**
+     * Called by the config after the equipment roll tables were recompiled.
+     */
+    public void onRollTablesChanged() {
+        EquipmentResolver equipmentResolver = resolver;
+        if (equipmentResolver != null) {
+            equipmentResolver.clear();
+        }
+    }
+
     @SubscribeEvent
     public void onEntityJoinLevel(EntityJoinLevelEvent event) {
+        long start = entityJoinTimer.start();
+        handleEntityJoinLevel(event);
+        entityJoinTimer.stop(start);
+    }
+
+    private void handleEntityJoinLevel(EntityJoinLevelEvent event) {
         if (!isModuleEnabled()) {
             return;
         }
@@ -66,217 +124,153 @@ public class BetterMobsModule extends AbstractModule<BetterMobsModule, BetterMob
         }
 
         BetterMobsConfig config = getConfig();
-        String mobId = BuiltInRegistries.ENTITY_TYPE.getKey(mob.getType()).toString();
-        if (!config.getEnabledMobs().contains(mobId)) {
+        if (!config.isEntityEnabled(mob.getType())) {
             return;
         }
 
-        // StringBuilder für Debug-Nachricht
-        StringBuilder debugInfo = new StringBuilder();
+        EquipmentResolver equipmentResolver = resolver;
+        if (equipmentResolver == null) {
+            return; // Server noch nicht gestartet
+        }
+        boolean debug = config.shouldDebugLog();
+        BetterMobsConfig.Snapshot values = config.getSnapshot();
 
-        // Zufälliges Equipment-Setup basierend auf Y-Koordinate
+        // Ein RNG pro Mob, mit der UUID geseedet, und ein wiederverwendbares Loadout pro Thread
         int y = mob.blockPosition().getY();
-        UUID uuid = mob.getUUID();
-        var setup = config.getRandomEquipmentSetupForMob(serverLevel.dimension(), uuid, y);
-        if (setup == null) {
-            if (getConfig().shouldDebugLog()) {
-                getLogger().debug("No equipment setup found for mob '{}' at Y: {}", mobId, y);
-            }
-            return;
-        }
+        Random random = RANDOM.get();
+        random.setSeed(mob.getUUID().getLeastSignificantBits());
+        MobLoadout loadout = LOADOUT.get();
+        values.getRollTable(serverLevel.dimension(), y).roll(random, loadout);
+        ResolvedEquipment resolved = equipmentResolver.resolve(loadout.getTable());
 
         // Materialtyp bestimmen
-        var materials = setup.get(BetterMobsConfigKey.GEAR_TYPES);
-        if (materials.isEmpty()) {
-            if (getConfig().shouldDebugLog()) {
+        String material = loadout.getGearType();
+        if (material == null) {
+            if (debug) {
                 getLogger().debug("No gear type found for mob at Y: {}", y);
             }
             return;
         }
-        String material = materials.get(new Random(uuid.getLeastSignificantBits()).nextInt(materials.size()));
 
-        if (getConfig().shouldDebugLog()) {
-            getLogger().debug("Applying gear type '{}' to mob '{}' at Y: {}", material, mobId, y);
+        if (debug) {
+            getLogger().debug("Applying gear type '{}' to mob '{}' at Y: {}", material, getMobId(mob), y);
         }
 
-        // Armor nur für Mobs aus enabledMobsWithArmor
-        if (config.getEnabledMobsWithArmor().contains(mobId)) {
-            // Hole die Liste der Rüstungsteile, die spawnen sollen
-            List<String> spawnedArmor = setup.get(BetterMobsConfigKey.ARMOR_CHANCES);
-
-            // Erstelle und setze die Rüstungsteile basierend auf den Spawn-Chancen
-            if (spawnedArmor.contains("helmet")) {
-                ItemStack helmet = getItemForTypeAndMaterial("helmet", material);
-                if (helmet != null && !helmet.isEmpty()) {
-                    // Durability setzen
-                    int maxDurability = helmet.getMaxDamage();
-                    int percentDurability = config.getMaxDurabilityValue();
-                    int percentDropChance = config.getDropChanceValue();
-                    helmet.setDamageValue(maxDurability - (maxDurability * percentDurability / 100));
-                    // Drop-Chance setzen
-                    mob.setDropChance(EquipmentSlot.HEAD, percentDropChance / 100.0f);
-                    mob.setItemSlot(EquipmentSlot.HEAD, helmet);
-                    debugInfo.append("Armor - Helmet: ").append(getItemNameStr(helmet)).append("\n");
-                    // Enchantments für Helmet
-                    applyArmorEnchantments(serverLevel,
-                            uuid,
-                            helmet,
-                            setup.get(BetterMobsConfigKey.HELMET_ENCHANTMENTS),
-                            setup.get(BetterMobsConfigKey.ENCHANTMENT_LEVELS));
-                    if (helmet.isEnchanted()) {
-                        debugInfo.append("Helmet Enchantments: ")
-                                .append(getEnchantmentNameStr(helmet, serverLevel.registryAccess()))
-                                .append("\n");
-                    }
-                }
-            }
-
-            if (spawnedArmor.contains("chestplate")) {
-                ItemStack chest = getItemForTypeAndMaterial("chestplate", material);
-                if (chest != null && !chest.isEmpty()) {
-                    int maxDurability = chest.getMaxDamage();
-                    int percentDurability = config.getMaxDurabilityValue();
-                    int percentDropChance = config.getDropChanceValue();
-                    chest.setDamageValue(maxDurability - (maxDurability * percentDurability / 100));
-                    mob.setDropChance(EquipmentSlot.CHEST, percentDropChance / 100.0f);
-                    mob.setItemSlot(EquipmentSlot.CHEST, chest);
-                    debugInfo.append("Armor - Chestplate: ").append(getItemNameStr(chest)).append("\n");
-                    // Enchantments für Chestplate
-                    applyArmorEnchantments(serverLevel,
-                            uuid,
-                            chest,
-                            setup.get(BetterMobsConfigKey.CHESTPLATE_ENCHANTMENTS),
-                            setup.get(BetterMobsConfigKey.ENCHANTMENT_LEVELS));
-                    if (chest.isEnchanted()) {
-                        debugInfo.append("Chestplate Enchantments: ")
-                                .append(getEnchantmentNameStr(chest, serverLevel.registryAccess()))
-                                .append("\n");
-                    }
-                }
-            }
-
-            if (spawnedArmor.contains("leggings")) {
-                ItemStack legs = getItemForTypeAndMaterial("leggings", material);
-                if (legs != null && !legs.isEmpty()) {
-                    int maxDurability = legs.getMaxDamage();
-                    int percentDurability = config.getMaxDurabilityValue();
-                    int percentDropChance = config.getDropChanceValue();
-                    legs.setDamageValue(maxDurability - (maxDurability * percentDurability / 100));
-                    mob.setDropChance(EquipmentSlot.LEGS, percentDropChance / 100.0f);
-                    mob.setItemSlot(EquipmentSlot.LEGS, legs);
-                    debugInfo.append("Armor - Leggings: ").append(getItemNameStr(legs)).append("\n");
-                    // Enchantments für Leggings
-                    applyArmorEnchantments(serverLevel,
-                            uuid,
-                            legs,
-                            setup.get(BetterMobsConfigKey.LEGGINGS_ENCHANTMENTS),
-                            setup.get(BetterMobsConfigKey.ENCHANTMENT_LEVELS));
-                    if (legs.isEnchanted()) {
-                        debugInfo.append("Leggings Enchantments: ")
-                                .append(getEnchantmentNameStr(legs, serverLevel.registryAccess()))
-                                .append("\n");
-                    }
-                }
-            }
+        // Debug-Text wird nur aufgebaut, wenn Debug-Logging aktiv ist
+        StringBuilder debugInfo = debug ? new StringBuilder() : null;
 
-            if (spawnedArmor.contains("boots")) {
-                ItemStack boots = getItemForTypeAndMaterial("boots", material);
-                if (boots != null && !boots.isEmpty()) {
-                    int maxDurability = boots.getMaxDamage();
-                    int percentDurability = config.getMaxDurabilityValue();
-                    int percentDropChance = config.getDropChanceValue();
-                    boots.setDamageValue(maxDurability - (maxDurability * percentDurability / 100));
-                    mob.setDropChance(EquipmentSlot.FEET, percentDropChance / 100.0f);
-                    mob.setItemSlot(EquipmentSlot.FEET, boots);
-                    debugInfo.append("Armor - Boots: ").append(getItemNameStr(boots)).append("\n");
-                    // Enchantments für Boots
-                    applyArmorEnchantments(serverLevel,
-                            uuid,
-                            boots,
-                            setup.get(BetterMobsConfigKey.BOOTS_ENCHANTMENTS),
-                            setup.get(BetterMobsConfigKey.ENCHANTMENT_LEVELS));
-                    if (boots.isEnchanted()) {
-                        debugInfo.append("Boots Enchantments: ")
-                                .append(getEnchantmentNameStr(boots, serverLevel.registryAccess()))
-                                .append("\n");
-                    }
+        // Armor nur für Mobs aus enabledMobsWithArmor
+        if (config.canEntityWearArmor(mob.getType())) {
+            int percentDurability = values.maxDurability();
+            float dropChance = values.dropChance() / 100.0f;
+            for (ArmorPiece piece : ARMOR_PIECES) {
+                if (loadout.hasArmor(piece)) {
+                    equipArmorPiece(serverLevel, mob, piece, loadout, resolved, random,
+                            percentDurability, dropChance, debugInfo);
                 }
             }
         }
 
         // Potion Effects
-        var effects = setup.get(BetterMobsConfigKey.POTION_EFFECTS);
-        if (effects != null && !effects.isEmpty()) {
+        int effectCount = loadout.getEffectCount();
+        if (effectCount > 0 && debugInfo != null) {
             debugInfo.append("Potion Effects:\n");
-            effects.forEach((effect) -> {
-                final int level = new Random(uuid.getLeastSignificantBits()).nextInt(1, 2);
-                final int duration = Integer.MAX_VALUE;
-                debugInfo.append("- ").append(effect).append(" (Level ").append(level).append(")\n");
-                switch (effect) {
-                    case "speed" ->
-                            mob.addEffect(new MobEffectInstance(MobEffects.MOVEMENT_SPEED, duration, level - 1));
-                    case "strength" ->
-                            mob.addEffect(new MobEffectInstance(MobEffects.DAMAGE_BOOST, duration, level - 1));
-                    case "regeneration" ->
-                            mob.addEffect(new MobEffectInstance(MobEffects.REGENERATION, duration, level - 1));
-                    case "fire_resistance" ->
-                            mob.addEffect(new MobEffectInstance(MobEffects.FIRE_RESISTANCE, duration, level - 1));
-                    case "invisibility" ->
-                            mob.addEffect(new MobEffectInstance(MobEffects.INVISIBILITY, duration, level - 1));
-                    case "water_breathing" ->
-                            mob.addEffect(new MobEffectInstance(MobEffects.WATER_BREATHING, duration, level - 1));
-                    case "night_vision" ->
-                            mob.addEffect(new MobEffectInstance(MobEffects.NIGHT_VISION, duration, level - 1));
-                    case "jump_boost" -> mob.addEffect(new MobEffectInstance(MobEffects.JUMP, duration, level - 1));
-                    case "weakness" -> mob.addEffect(new MobEffectInstance(MobEffects.WEAKNESS, duration, level - 1));
-                    case "slowness" ->
-                            mob.addEffect(new MobEffectInstance(MobEffects.MOVEMENT_SLOWDOWN, duration, level - 1));
-                    case "mining_fatigue" ->
-                            mob.addEffect(new MobEffectInstance(MobEffects.DIG_SLOWDOWN, duration, level - 1));
-                    case "poison" -> mob.addEffect(new MobEffectInstance(MobEffects.POISON, duration, level - 1));
-                    case "wither" -> mob.addEffect(new MobEffectInstance(MobEffects.WITHER, duration, level - 1));
-                    case null, default -> {
-                    }
-                }
-            });
+        }
+        for (int i = 0; i < effectCount; i++) {
+            Holder<MobEffect> effect = resolved.getEffect(loadout.getEffectIndex(i));
+            if (effect != null) {
+                mob.addEffect(new MobEffectInstance(effect, Integer.MAX_VALUE, EFFECT_AMPLIFIER));
+            }
+            if (debugInfo != null) {
+                debugInfo.append("- ").append(loadout.getEffect(i))
+                        .append(" (Level ").append(EFFECT_AMPLIFIER + 1).append(")\n");
+            }
         }
 
         // Debug-Nachricht ausgeben und an alle Spieler senden, wenn debug aktiviert ist
-        if (getConfig().shouldDebugLog() && !debugInfo.isEmpty()) {
-            var di = new StringBuilder();
-            di.append("Mob spawned with properties:\n");
-            di.append("Type: ").append(mobId).append("\n");
-            di.append("Position: ").append(mob.blockPosition()).append("\n");
-            di.append("Material: ").append(material).append("\n");
-            di.append(debugInfo);
-            getLogger().debug(di.toString());
-
-            String mn = mob.getType().getDescriptionId(); // mob name
-            mn = Component.translatable(mn).getString(); // übersetzter mob name
-
-            // Erstelle eine kompakte Nachricht mit Hover-Text
-            var hoverComponent = Component.literal(di.toString());
-            var mainMessage = Component
-                    .literal("§6[Debug] §r§l" + mn + "§r§8 mit besonderen Eigenschaften gespawnt!"
-                            + " §7(Hover für Details, Klick zum Teleportieren)")
-                    .withStyle(style -> style
-                            .withHoverEvent(new HoverEvent(
-                                    HoverEvent.Action.SHOW_TEXT,
-                                    hoverComponent
-                            ))
-                            .withClickEvent(new net.minecraft.network.chat.ClickEvent(
-                                    net.minecraft.network.chat.ClickEvent.Action.RUN_COMMAND,
-                                    "/tp @s %d %d %d".formatted(mob.blockPosition().getX(),
-                                            mob.blockPosition().getY(),
-                                            mob.blockPosition().getZ())
-                            ))
-                    );
-
-            // Sende die Nachricht an alle Spieler auf dem Server
-            serverLevel.getServer().getPlayerList().getPlayers().forEach(player ->
-                    player.sendSystemMessage(mainMessage)
-            );
+        if (debugInfo != null && !debugInfo.isEmpty()) {
+            sendDebugMessage(serverLevel, mob, getMobId(mob), material, debugInfo);
+        }
+    }
+
+    /**
+     * Creates, configures and equips a single armor piece from the rolled loadout.
+     */
+    private void equipArmorPiece(ServerLevel serverLevel,
+                                 Monster mob,
+                                 ArmorPiece piece,
+                                 MobLoadout loadout,
+                                 ResolvedEquipment resolved,
+                                 Random random,
+                                 int percentDurability,
+                                 float dropChance,
+                                 @Nullable StringBuilder debugInfo) {
+        Item item = resolved.getArmorItem(piece, loadout.getGearTypeIndex());
+        if (item == null) {
+            return;
         }
+        ItemStack stack = new ItemStack(item);
+        // Durability setzen
+        int maxDurability = stack.getMaxDamage();
+        stack.setDamageValue(maxDurability - (maxDurability * percentDurability / 100));
+        // Drop-Chance setzen
+        mob.setDropChance(piece.getSlot(), dropChance);
+        mob.setItemSlot(piece.getSlot(), stack);
+        applyArmorEnchantments(stack, piece, loadout, resolved, random);
+
+        if (debugInfo != null) {
+            debugInfo.append("Armor - ").append(piece.getDisplayName()).append(": ")
+                    .append(getItemNameStr(stack)).append("\n");
+            if (stack.isEnchanted()) {
+                debugInfo.append(piece.getDisplayName()).append(" Enchantments: ")
+                        .append(getEnchantmentNameStr(stack, serverLevel.registryAccess()))
+                        .append("\n");
+            }
+        }
+    }
+
+    private void sendDebugMessage(ServerLevel serverLevel,
+                                  Monster mob,
+                                  String mobId,
+                                  String material,
+                                  StringBuilder debugInfo) {
+        var di = new StringBuilder();
+        di.append("Mob spawned with properties:\n");
+        di.append("Type: ").append(mobId).append("\n");
+        di.append("Position: ").append(mob.blockPosition()).append("\n");
+        di.append("Material: ").append(material).append("\n");
+        di.append(debugInfo);
+        getLogger().debug(di.toString());
+
+        String mn = mob.getType().getDescriptionId(); // mob name
+        mn = Component.translatable(mn).getString(); // übersetzter mob name
+
+        // Erstelle eine kompakte Nachricht mit Hover-Text
+        var hoverComponent = Component.literal(di.toString());
+        var mainMessage = Component
+                .literal("§6[Debug] §r§l" + mn + "§r§8 mit besonderen Eigenschaften gespawnt!"
+                        + " §7(Hover für Details, Klick zum Teleportieren)")
+                .withStyle(style -> style
+                        .withHoverEvent(new HoverEvent(
+                                HoverEvent.Action.SHOW_TEXT,
+                                hoverComponent
+                        ))
+                        .withClickEvent(new net.minecraft.network.chat.ClickEvent(
+                                net.minecraft.network.chat.ClickEvent.Action.RUN_COMMAND,
+                                "/tp @s %d %d %d".formatted(mob.blockPosition().getX(),
+                                        mob.blockPosition().getY(),
+                                        mob.blockPosition().getZ())
+                        ))
+                );
+
+        // Sende die Nachricht an alle Spieler auf dem Server
+        serverLevel.getServer().getPlayerList().getPlayers().forEach(player ->
+                player.sendSystemMessage(mainMessage)
+        );
+    }
+
+    private static String getMobId(Monster mob) {
+        return BuiltInRegistries.ENTITY_TYPE.getKey(mob.getType()).toString();
     }
 
     private static @NotNull String getItemNameStr(ItemStack itemStack) {
@@ -350,87 +344,21 @@ public class BetterMobsModule extends AbstractModule<BetterMobsModule, BetterMob
         return sj.length() == 0 ? "" : sj.toString();
     }
 
-    // Hilfsfunktion: Gibt das passende ItemStack für Typ und Material zurück
-    private ItemStack getItemForTypeAndMaterial(String type, String material) {
-        return switch (type) {
-            case "helmet" -> switch (material) {
-                case "gold" -> new ItemStack(Items.GOLDEN_HELMET);
-                case "iron" -> new ItemStack(Items.IRON_HELMET);
-                case "chainmail" -> new ItemStack(Items.CHAINMAIL_HELMET);
-                case "leather" -> new ItemStack(Items.LEATHER_HELMET);
-                case "diamond" -> new ItemStack(Items.DIAMOND_HELMET);
-                case "netherite" -> new ItemStack(Items.NETHERITE_HELMET);
-                default -> ItemStack.EMPTY;
-            };
-            case "chestplate" -> switch (material) {
-                case "gold" -> new ItemStack(Items.GOLDEN_CHESTPLATE);
-                case "iron" -> new ItemStack(Items.IRON_CHESTPLATE);
-                case "chainmail" -> new ItemStack(Items.CHAINMAIL_CHESTPLATE);
-                case "leather" -> new ItemStack(Items.LEATHER_CHESTPLATE);
-                case "diamond" -> new ItemStack(Items.DIAMOND_CHESTPLATE);
-                case "netherite" -> new ItemStack(Items.NETHERITE_CHESTPLATE);
-                default -> ItemStack.EMPTY;
-            };
-            case "leggings" -> switch (material) {
-                case "gold" -> new ItemStack(Items.GOLDEN_LEGGINGS);
-                case "iron" -> new ItemStack(Items.IRON_LEGGINGS);
-                case "chainmail" -> new ItemStack(Items.CHAINMAIL_LEGGINGS);
-                case "leather" -> new ItemStack(Items.LEATHER_LEGGINGS);
-                case "diamond" -> new ItemStack(Items.DIAMOND_LEGGINGS);
-                case "netherite" -> new ItemStack(Items.NETHERITE_LEGGINGS);
-                default -> ItemStack.EMPTY;
-            };
-            case "boots" -> switch (material) {
-                case "gold" -> new ItemStack(Items.GOLDEN_BOOTS);
-                case "iron" -> new ItemStack(Items.IRON_BOOTS);
-                case "chainmail" -> new ItemStack(Items.CHAINMAIL_BOOTS);
-                case "leather" -> new ItemStack(Items.LEATHER_BOOTS);
-                case "diamond" -> new ItemStack(Items.DIAMOND_BOOTS);
-                case "netherite" -> new ItemStack(Items.NETHERITE_BOOTS);
-                default -> ItemStack.EMPTY;
-            };
-            default -> ItemStack.EMPTY;
-        };
-    }
-
-    // Hilfsfunktion: Armor-Verzauberungen anwenden
-    private void applyArmorEnchantments(ServerLevel serverLevel,
-                                        java.util.UUID uuid,
-                                        ItemStack stack,
-                                        List<String> enchants,
-                                        List<String> enchantLevels) {
-        if (stack == null || enchants == null || enchantLevels == null) {
-            return;
-        }
-        Random random = new Random(uuid.getLeastSignificantBits());
-        enchants.forEach((enchant) -> {
-            int level = Integer.parseInt(enchantLevels.get(random.nextInt(enchantLevels.size())));
-            ResourceKey<Enchantment> enchantmentKey = switch (enchant) {
-                case "protection" -> Enchantments.PROTECTION;
-                case "fire_protection" -> Enchantments.FIRE_PROTECTION;
-                case "blast_protection" -> Enchantments.BLAST_PROTECTION;
-                case "projectile_protection" -> Enchantments.PROJECTILE_PROTECTION;
-                case "respiration" -> Enchantments.RESPIRATION;
-                case "aqua_affinity" -> Enchantments.AQUA_AFFINITY;
-                case "thorns" -> Enchantments.THORNS;
-                case "feather_falling" -> Enchantments.FEATHER_FALLING;
-                case "depth_strider" -> Enchantments.DEPTH_STRIDER;
-                case "frost_walker" -> Enchantments.FROST_WALKER;
-                case "binding_curse" -> Enchantments.BINDING_CURSE;
-                default -> null;
-            };
-            if (enchantmentKey != null) {
-                var registry = serverLevel.registryAccess().registryOrThrow(Registries.ENCHANTMENT);
-                var optHolder = registry.getHolder(enchantmentKey);
-                var allEnchantments = stack.getAllEnchantments(registry.asLookup());
-                if (optHolder.isPresent()) {
-                    Enchantment newEnchant = optHolder.get().value();
-                    if (newEnchant.canEnchant(stack)
-                            && EnchantmentHelper.isEnchantmentCompatible(allEnchantments.keySet(), optHolder.get())) {
-                        stack.enchant(optHolder.get(), level);
-                    }
-                }
+    // Hilfsfunktion: Armor-Verzauberungen anwenden (package-private für die JMH-Benchmarks)
+    static void applyArmorEnchantments(ItemStack stack,
+                                       ArmorPiece piece,
+                                       MobLoadout loadout,
+                                       ResolvedEquipment resolved,
+                                       Random random) {
+        int count = loadout.getEnchantmentCount(piece);
+        for (int i = 0; i < count; i++) {
+            int level = loadout.pickEnchantmentLevel(random);
+            Holder<Enchantment> enchantment = resolved.getEnchantment(piece, loadout.getEnchantmentIndex(piece, i));
+            if (enchantment != null
+                    && enchantment.value().canEnchant(stack)
+                    && EnchantmentHelper.isEnchantmentCompatible(stack.getEnchantments().keySet(), enchantment)) {
+                stack.enchant(enchantment, level);
             }
-        });
+        }
     }
 }
@@ -0,0 +1,158 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.better_mobs;
+
+import net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.config.ArmorPiece;
+import net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.config.BetterMobsConfigKey;
+import net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.config.EquipmentRollTable;
+import net.minecraft.core.Holder;
+import net.minecraft.core.Registry;
+import net.minecraft.core.RegistryAccess;
+import net.minecraft.core.registries.Registries;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.enchantment.Enchantment;
+import org.jetbrains.annotations.Nullable;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the names in an {@link EquipmentRollTable} against the server's registries.
+ * <p>
+ * One resolver is created per server start. For every roll table it builds flat lookup
+ * arrays ({@code Item[piece][material]}, {@code Holder<Enchantment>[piece][index]} and
+ * {@code Holder<MobEffect>[index]}) that are indexed exactly like the table's roll lists,
+ * so decorating a mob only needs array reads. Any registry ID is accepted: plain names
+ * default to the {@code minecraft} namespace, and materials are mapped to
+ * {@code <namespace>:<material>_<piece>} items.
+ */
+final class EquipmentResolver {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EquipmentResolver.class);
+
+    private final Registry<Item> items;
+    private final Registry<Enchantment> enchantments;
+    private final Registry<MobEffect> effects;
+    private final Map<EquipmentRollTable, ResolvedEquipment> cache = new ConcurrentHashMap<>();
+
+    EquipmentResolver(RegistryAccess registryAccess) {
+        this.items = registryAccess.registryOrThrow(Registries.ITEM);
+        this.enchantments = registryAccess.registryOrThrow(Registries.ENCHANTMENT);
+        this.effects = registryAccess.registryOrThrow(Registries.MOB_EFFECT);
+    }
+
+    /**
+     * Gets the resolved lookup arrays for a roll table, resolving them on first use.
+     *
+     * @param table The roll table
+     * @return The resolved equipment for the table
+     */
+    ResolvedEquipment resolve(EquipmentRollTable table) {
+        ResolvedEquipment resolved = cache.get(table);
+        if (resolved == null) {
+            resolved = cache.computeIfAbsent(table, this::resolveTable);
+        }
+        return resolved;
+    }
+
+    /**
+     * Drops all resolved tables, e.g. after the config was reloaded.
+     */
+    void clear() {
+        cache.clear();
+    }
+
+    private ResolvedEquipment resolveTable(EquipmentRollTable table) {
+        ArmorPiece[] pieces = ArmorPiece.values();
+        EquipmentRollTable.RollList gearTypes = table.getRollList(BetterMobsConfigKey.GEAR_TYPES);
+
+        Item[][] armorItems = new Item[pieces.length][gearTypes.size()];
+        @SuppressWarnings("unchecked")
+        Holder<Enchantment>[][] armorEnchantments = new Holder[pieces.length][];
+        for (ArmorPiece piece : pieces) {
+            for (int i = 0; i < gearTypes.size(); i++) {
+                armorItems[piece.ordinal()][i] = resolveArmorItem(gearTypes.getName(i), piece);
+            }
+            EquipmentRollTable.RollList enchants = table.getRollList(piece.getEnchantmentsKey());
+            @SuppressWarnings("unchecked")
+            Holder<Enchantment>[] pieceEnchantments = new Holder[enchants.size()];
+            for (int i = 0; i < enchants.size(); i++) {
+                pieceEnchantments[i] = resolveHolder(enchantments, Registries.ENCHANTMENT, enchants.getName(i));
+            }
+            armorEnchantments[piece.ordinal()] = pieceEnchantments;
+        }
+
+        EquipmentRollTable.RollList effectNames = table.getRollList(BetterMobsConfigKey.POTION_EFFECTS);
+        @SuppressWarnings("unchecked")
+        Holder<MobEffect>[] effectHolders = new Holder[effectNames.size()];
+        for (int i = 0; i < effectNames.size(); i++) {
+            effectHolders[i] = resolveHolder(effects, Registries.MOB_EFFECT, effectNames.getName(i));
+        }
+
+        return new ResolvedEquipment(armorItems, armorEnchantments, effectHolders);
+    }
+
+    private @Nullable Item resolveArmorItem(String material, ArmorPiece piece) {
+        int separator = material.indexOf(':');
+        String namespace = separator < 0 ? ResourceLocation.DEFAULT_NAMESPACE : material.substring(0, separator);
+        String path = separator < 0 ? material : material.substring(separator + 1);
+        // Vanilla nennt Goldrüstung "golden_*"
+        if (path.equals("gold")) {
+            path = "golden";
+        }
+
+        ResourceLocation id = ResourceLocation.tryBuild(namespace, path + "_" + piece.getPropertyName());
+        Item item = id != null ? items.getOptional(id).orElse(null) : null;
+        if (item == null) {
+            LOGGER.warn("Unknown armor item for material '{}' and piece '{}' ({})",
+                    material, piece.getPropertyName(), id);
+        }
+        return item;
+    }
+
+    @Nullable
+    private static <T> Holder<T> resolveHolder(Registry<T> registry,
+                                               ResourceKey<? extends Registry<T>> registryKey,
+                                               String name) {
+        ResourceLocation id = ResourceLocation.tryParse(name);
+        Holder<T> holder = id != null
+                ? registry.getHolder(ResourceKey.create(registryKey, id)).orElse(null)
+                : null;
+        if (holder == null) {
+            LOGGER.warn("Unknown {} '{}' in Better Mobs config", registryKey.location().getPath(), name);
+        }
+        return holder;
+    }
+
+    /**
+     * Registry-resolved counterpart of an {@link EquipmentRollTable}. Entries that could not be
+     * resolved are null and are skipped when decorating.
+     */
+    static final class ResolvedEquipment {
+        private final Item[][] armorItems;
+        private final Holder<Enchantment>[][] armorEnchantments;
+        private final Holder<MobEffect>[] effects;
+
+        private ResolvedEquipment(Item[][] armorItems,
+                                  Holder<Enchantment>[][] armorEnchantments,
+                                  Holder<MobEffect>[] effects) {
+            this.armorItems = armorItems;
+            this.armorEnchantments = armorEnchantments;
+            this.effects = effects;
+        }
+
+        @Nullable Item getArmorItem(ArmorPiece piece, int gearTypeIndex) {
+            return armorItems[piece.ordinal()][gearTypeIndex];
+        }
+
+        @Nullable Holder<Enchantment> getEnchantment(ArmorPiece piece, int index) {
+            return armorEnchantments[piece.ordinal()][index];
+        }
+
+        @Nullable Holder<MobEffect> getEffect(int index) {
+            return effects[index];
+        }
+    }
+}
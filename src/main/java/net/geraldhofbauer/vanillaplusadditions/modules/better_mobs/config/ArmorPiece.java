@@ -0,0 +1,84 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.config;
+
+import net.minecraft.world.entity.EquipmentSlot;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The armor pieces Better Mobs can equip, in the order they are rolled.
+ * Each piece knows the property name used in {@link BetterMobsConfigKey#ARMOR_CHANCES}
+ * entries and the config key holding its enchantment chances.
+ */
+public enum ArmorPiece {
+    HELMET("helmet", "Helmet", EquipmentSlot.HEAD, BetterMobsConfigKey.HELMET_ENCHANTMENTS),
+    CHESTPLATE("chestplate", "Chestplate", EquipmentSlot.CHEST, BetterMobsConfigKey.CHESTPLATE_ENCHANTMENTS),
+    LEGGINGS("leggings", "Leggings", EquipmentSlot.LEGS, BetterMobsConfigKey.LEGGINGS_ENCHANTMENTS),
+    BOOTS("boots", "Boots", EquipmentSlot.FEET, BetterMobsConfigKey.BOOTS_ENCHANTMENTS);
+
+    /**
+     * Cached {@link #values()} to avoid cloning the array on hot paths.
+     */
+    static final ArmorPiece[] VALUES = values();
+
+    private final String propertyName;
+    private final String displayName;
+    private final EquipmentSlot slot;
+    private final BetterMobsConfigKey enchantmentsKey;
+
+    ArmorPiece(String propertyName, String displayName, EquipmentSlot slot, BetterMobsConfigKey enchantmentsKey) {
+        this.propertyName = propertyName;
+        this.displayName = displayName;
+        this.slot = slot;
+        this.enchantmentsKey = enchantmentsKey;
+    }
+
+    /**
+     * Gets the property name used for this piece in the config (e.g. "helmet").
+     *
+     * @return The config property name
+     */
+    public String getPropertyName() {
+        return propertyName;
+    }
+
+    /**
+     * Gets the name used for this piece in debug output (e.g. "Helmet").
+     *
+     * @return The display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Gets the equipment slot this piece is worn in.
+     *
+     * @return The equipment slot
+     */
+    public EquipmentSlot getSlot() {
+        return slot;
+    }
+
+    /**
+     * Gets the config key that holds the enchantment chances for this piece.
+     *
+     * @return The enchantment config key
+     */
+    public BetterMobsConfigKey getEnchantmentsKey() {
+        return enchantmentsKey;
+    }
+
+    /**
+     * Looks up an armor piece by its config property name.
+     *
+     * @param propertyName The property name, e.g. "chestplate"
+     * @return The matching armor piece, or null if unknown
+     */
+    public static @Nullable ArmorPiece byPropertyName(String propertyName) {
+        for (ArmorPiece piece : VALUES) {
+            if (piece.propertyName.equals(propertyName)) {
+                return piece;
+            }
+        }
+        return null;
+    }
+}
@@ -1,8 +1,13 @@
 package net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.config;
 
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceSets;
 import net.geraldhofbauer.vanillaplusadditions.core.AbstractModuleConfig;
 import net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.BetterMobsModule;
+import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.level.Level;
 import net.neoforged.neoforge.common.ModConfigSpec;
 import org.jetbrains.annotations.NotNull;
@@ -10,10 +15,13 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Random;
+import java.util.Set;
 import java.util.UUID;
 
 public class BetterMobsConfig extends AbstractModuleConfig<BetterMobsModule, BetterMobsConfig> {
@@ -58,6 +66,11 @@ public class BetterMobsConfig extends AbstractModuleConfig<BetterMobsModule, Bet
     private ModConfigSpec.ConfigValue<List<? extends String>> enabledMobs;
     private ModConfigSpec.ConfigValue<List<? extends String>> enabledMobsWithArmor;
 
+    // Values and equipment lists compiled in onConfigLoad, swapped atomically on reload
+    private volatile Snapshot snapshot = Snapshot.DEFAULT;
+    // Entity type sets built lazily from enabled_mobs / enabled_mobs_with_armor, reset on reload
+    private volatile EntityTypeFilters entityTypeFilters;
+
     public BetterMobsConfig(BetterMobsModule module) {
         super(module);
     }
@@ -118,7 +131,7 @@ public class BetterMobsConfig extends AbstractModuleConfig<BetterMobsModule, Bet
         LOGGER.debug("Built module-specific configuration for Better Mobs module");
     }
 
-    private static @NotNull List<String> getAboveZeroConf() {
+    static @NotNull List<String> getAboveZeroConf() {
         List<String> config = new ArrayList<>();
 
         // Gear types
@@ -177,7 +190,7 @@ public class BetterMobsConfig extends AbstractModuleConfig<BetterMobsModule, Bet
         return config;
     }
 
-    private static @NotNull List<String> getBelowZeroConf() {
+    static @NotNull List<String> getBelowZeroConf() {
         List<String> config = new ArrayList<>();
 
         // Gear types
@@ -237,7 +250,7 @@ public class BetterMobsConfig extends AbstractModuleConfig<BetterMobsModule, Bet
         return config;
     }
 
-    private static @NotNull List<String> getNetherEndConf() {
+    static @NotNull List<String> getNetherEndConf() {
         List<String> config = new ArrayList<>();
 
         // Gear types
@@ -296,6 +309,9 @@ public class BetterMobsConfig extends AbstractModuleConfig<BetterMobsModule, Bet
     @Override
     public void onConfigLoad(ModConfigSpec spec) {
         super.onConfigLoad(spec); // Call parent to handle enabled logging
+        compileSnapshot();
+        getModule().onRollTablesChanged();
+        entityTypeFilters = null;
         // React to module-specific configuration changes if needed
         if (shouldDebugLog()) {
             LOGGER.debug("Module-specific configuration loaded for Better Mobs module");
@@ -310,13 +326,31 @@ public class BetterMobsConfig extends AbstractModuleConfig<BetterMobsModule, Bet
         }
     }
 
+    /**
+     * Compiles the above_zero, below_zero and nether_end lists into roll tables and publishes them
+     * together with the scalar values.
+     */
+    private void compileSnapshot() {
+        if (dropChance == null || maxDurability == null
+                || aboveZeroConfig == null || belowZeroConfig == null || netherEndConfig == null) {
+            return;
+        }
+        snapshot = new Snapshot(
+                dropChance.get(),
+                maxDurability.get(),
+                EquipmentRollTable.compile(aboveZeroConfig.get()),
+                EquipmentRollTable.compile(belowZeroConfig.get()),
+                EquipmentRollTable.compile(netherEndConfig.get()));
+        LOGGER.debug("Compiled Better Mobs equipment roll tables");
+    }
+
     /**
      * Gets the configured drop chance.
      *
      * @return drop chance in percentage, or default value if not configured
      */
     public int getDropChanceValue() {
-        return dropChance != null ? dropChance.get() : 10;
+        return snapshot.dropChance();
     }
 
     /**
@@ -325,7 +359,7 @@ public class BetterMobsConfig extends AbstractModuleConfig<BetterMobsModule, Bet
      * @return maximum durability, or default value if not configured
      */
     public int getMaxDurabilityValue() {
-        return maxDurability != null ? maxDurability.get() : 250;
+        return snapshot.maxDurability();
     }
 
     /**
@@ -367,7 +401,7 @@ public class BetterMobsConfig extends AbstractModuleConfig<BetterMobsModule, Bet
     /**
      * Converts a list of config entries to a Map with BetterMobsConfigKey keys
      */
-    private Map<BetterMobsConfigKey, Map<String, Integer>> convertToKeyMap(List<String> input) {
+    static Map<BetterMobsConfigKey, Map<String, Integer>> convertToKeyMap(List<String> input) {
         Map<BetterMobsConfigKey, Map<String, Integer>> output = new HashMap<>();
 
         for (String entry : input) {
@@ -411,139 +445,193 @@ public class BetterMobsConfig extends AbstractModuleConfig<BetterMobsModule, Bet
      * Prüft, ob ein Mob in der Liste der aktivierten Mobs ist.
      */
     public boolean isEntityEnabled(String entityId) {
-        return getEnabledMobs().contains(entityId);
+        return enabledMobs != null ? enabledMobs.get().contains(entityId) : DEFAULT_ENABLED_MOBS.contains(entityId);
     }
 
     /**
      * Prüft, ob ein Mob Rüstung tragen kann.
      */
     public boolean canEntityWearArmor(String entityId) {
-        return getEnabledMobsWithArmor().contains(entityId);
+        return enabledMobsWithArmor != null
+                ? enabledMobsWithArmor.get().contains(entityId)
+                : DEFAULT_ENABLED_MOBS_WITH_ARMOR.contains(entityId);
     }
 
-    public Map<BetterMobsConfigKey, List<String>> getRandomEquipmentSetupForMob(ResourceKey<Level> dimension,
-                                                                                UUID uuid,
-                                                                                int y) {
-        List<String> configEntries;
-        if (dimension == Level.END || dimension == Level.NETHER) {
-            configEntries = netherEndConfig.get();
-        } else {
-            configEntries = y >= 0 ? aboveZeroConfig.get() : belowZeroConfig.get();
-        }
-        Random random = new Random(uuid.getLeastSignificantBits()); // Seed basierend auf Y-Koordinate
-        Map<BetterMobsConfigKey, List<String>> equipment = new java.util.HashMap<>();
+    /**
+     * Prüft, ob ein Mob-Typ zufällige Ausrüstung erhalten soll. Identitätsbasierter Lookup ohne String-Arbeit.
+     */
+    public boolean isEntityEnabled(EntityType<?> entityType) {
+        return getEntityTypeFilters().enabled().contains(entityType);
+    }
 
-        // Gruppiere Einträge nach ConfigKey
-        Map<BetterMobsConfigKey, List<String[]>> groupedEntries = new HashMap<>();
-        for (String entry : configEntries) {
-            String[] parts = entry.split(":");
-            if (parts.length != 3) {
-                continue;
-            }
+    /**
+     * Prüft, ob ein Mob-Typ Rüstung tragen kann. Identitätsbasierter Lookup ohne String-Arbeit.
+     */
+    public boolean canEntityWearArmor(EntityType<?> entityType) {
+        return getEntityTypeFilters().withArmor().contains(entityType);
+    }
 
-            try {
-                BetterMobsConfigKey key = BetterMobsConfigKey.valueOf(parts[0]);
-                groupedEntries.computeIfAbsent(key, k -> new ArrayList<>()).add(parts);
-            } catch (IllegalArgumentException e) {
-                continue;
-            }
+    /**
+     * Gets the compiled entity type filters, resolving them against the entity type registry on first use.
+     * Resolution is deferred until first use because modded entity types may not be registered yet
+     * when the config is loaded.
+     */
+    private EntityTypeFilters getEntityTypeFilters() {
+        EntityTypeFilters filters = entityTypeFilters;
+        if (filters == null) {
+            filters = new EntityTypeFilters(
+                    resolveEntityTypes(enabledMobs != null ? enabledMobs.get() : DEFAULT_ENABLED_MOBS),
+                    resolveEntityTypes(enabledMobsWithArmor != null
+                            ? enabledMobsWithArmor.get()
+                            : DEFAULT_ENABLED_MOBS_WITH_ARMOR));
+            entityTypeFilters = filters;
         }
+        return filters;
+    }
 
-        // Prüfe Rüstungschancen zuerst
-        Map<String, Boolean> armorSpawns = new HashMap<>();
-        List<String[]> armorChances = groupedEntries.get(BetterMobsConfigKey.ARMOR_CHANCES);
-        if (armorChances != null) {
-            for (String[] chance : armorChances) {
-                armorSpawns.put(chance[1], random.nextInt(100) < Integer.parseInt(chance[2]));
+    private static Set<EntityType<?>> resolveEntityTypes(List<? extends String> entityIds) {
+        ReferenceOpenHashSet<EntityType<?>> types = new ReferenceOpenHashSet<>(entityIds.size());
+        for (String entityId : entityIds) {
+            ResourceLocation id = ResourceLocation.tryParse(entityId);
+            Optional<EntityType<?>> type = id != null
+                    ? BuiltInRegistries.ENTITY_TYPE.getOptional(id)
+                    : Optional.empty();
+            if (type.isPresent()) {
+                types.add(type.get());
+            } else {
+                LOGGER.warn("Unknown entity type in Better Mobs config: {}", entityId);
             }
         }
+        return ReferenceSets.unmodifiable(types);
+    }
 
-        // Gear Types - wähle einen zufälligen Typ basierend auf der Wahrscheinlichkeit
-        List<String[]> gearTypes = groupedEntries.get(BetterMobsConfigKey.GEAR_TYPES);
-        if (gearTypes != null) {
-            for (String[] gearType : gearTypes) {
-                if (random.nextInt(100) < Integer.parseInt(gearType[2])) {
-                    equipment.put(BetterMobsConfigKey.GEAR_TYPES, List.of(gearType[1]));
-                    break;
-                }
-            }
-        }
+    /**
+     * Gets the precompiled roll table that applies to a mob spawning in the given dimension at the given height.
+     *
+     * @param dimension The dimension the mob spawns in
+     * @param y         The block Y coordinate of the spawn
+     * @return The matching roll table, never null
+     */
+    public EquipmentRollTable getRollTable(ResourceKey<Level> dimension, int y) {
+        return snapshot.getRollTable(dimension, y);
+    }
 
-        // Enchantments für jedes Ausrüstungsteil (nur wenn das entsprechende Teil spawnen soll)
-        Map<BetterMobsConfigKey, String> armorKeyMapping = Map.of(
-                BetterMobsConfigKey.HELMET_ENCHANTMENTS, "helmet",
-                BetterMobsConfigKey.CHESTPLATE_ENCHANTMENTS, "chestplate",
-                BetterMobsConfigKey.LEGGINGS_ENCHANTMENTS, "leggings",
-                BetterMobsConfigKey.BOOTS_ENCHANTMENTS, "boots"
-        );
-
-        for (Map.Entry<BetterMobsConfigKey, String> mapping : armorKeyMapping.entrySet()) {
-            BetterMobsConfigKey key = mapping.getKey();
-            String armorPiece = mapping.getValue();
-
-            // Nur wenn das Rüstungsteil spawnen soll
-            if (Boolean.TRUE.equals(armorSpawns.get(armorPiece))) {
-                List<String[]> enchants = groupedEntries.get(key);
-                if (enchants != null) {
-                    List<String> selectedEnchants = new ArrayList<>();
-                    for (String[] enchant : enchants) {
-                        if (random.nextInt(100) < Integer.parseInt(enchant[2])) {
-                            selectedEnchants.add(enchant[1]);
-                        }
-                    }
-                    if (!selectedEnchants.isEmpty()) {
-                        equipment.put(key, selectedEnchants);
-                    }
-                }
-            }
+    /**
+     * Gets the values of the last config load as one immutable snapshot. The spawn path reads this
+     * once per mob instead of calling the individual getters.
+     *
+     * @return The current snapshot, or the defaults if the config is not loaded yet
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Rolls the equipment for a mob into a reusable loadout. This is the allocation-free variant
+     * used on the spawn path; the caller owns both the RNG and the loadout.
+     *
+     * @param dimension The dimension the mob spawns in
+     * @param y         The block Y coordinate of the spawn
+     * @param random    The mob's RNG, already seeded
+     * @param loadout   The scratch loadout to fill
+     */
+    public void rollEquipmentSetupForMob(ResourceKey<Level> dimension, int y, Random random, MobLoadout loadout) {
+        getRollTable(dimension, y).roll(random, loadout);
+    }
+
+    /**
+     * Rolls the equipment for a mob and returns it as a map of selected names per config key.
+     * Convenient for inspection; the spawn path uses {@link #rollEquipmentSetupForMob} instead.
+     */
+    public Map<BetterMobsConfigKey, List<String>> getRandomEquipmentSetupForMob(ResourceKey<Level> dimension,
+                                                                                UUID uuid,
+                                                                                int y) {
+        Random random = new Random(uuid.getLeastSignificantBits()); // Seed basierend auf der UUID
+        MobLoadout loadout = new MobLoadout();
+        rollEquipmentSetupForMob(dimension, y, random, loadout);
+        return toEquipmentMap(loadout);
+    }
+
+    /**
+     * Converts a rolled loadout into a map of selected names per config key.
+     */
+    static Map<BetterMobsConfigKey, List<String>> toEquipmentMap(MobLoadout loadout) {
+        Map<BetterMobsConfigKey, List<String>> equipment = new EnumMap<>(BetterMobsConfigKey.class);
+        for (BetterMobsConfigKey key : BetterMobsConfigKey.values()) {
+            equipment.put(key, List.of());
         }
 
-        // Enchantment Levels
-        List<String[]> enchantLevels = groupedEntries.get(BetterMobsConfigKey.ENCHANTMENT_LEVELS);
-        if (enchantLevels != null) {
-            int minLevel = 1;
-            int maxLevel = 1;
-            for (String[] level : enchantLevels) {
-                if (level[1].equals("min_level")) {
-                    minLevel = Integer.parseInt(level[2]);
-                } else if (level[1].equals("max_level")) {
-                    maxLevel = Integer.parseInt(level[2]);
-                }
-            }
-            int selectedLevel1 = minLevel + random.nextInt(Math.max(1, maxLevel - minLevel + 1));
-            int selectedLevel2 = minLevel + random.nextInt(Math.max(1, maxLevel - minLevel + 1));
-            equipment.put(BetterMobsConfigKey.ENCHANTMENT_LEVELS, List.of(
-                    String.valueOf(selectedLevel1),
-                    String.valueOf(selectedLevel2)
-            ));
+        String gearType = loadout.getGearType();
+        if (gearType != null) {
+            equipment.put(BetterMobsConfigKey.GEAR_TYPES, List.of(gearType));
         }
 
-        // Potion Effects
-        List<String[]> potionEffects = groupedEntries.get(BetterMobsConfigKey.POTION_EFFECTS);
-        if (potionEffects != null) {
-            List<String> selectedEffects = new ArrayList<>();
-            for (String[] effect : potionEffects) {
-                if (random.nextInt(100) < Integer.parseInt(effect[2])) {
-                    selectedEffects.add(effect[1]);
-                }
+        List<String> spawnedArmor = new ArrayList<>();
+        for (ArmorPiece piece : ArmorPiece.values()) {
+            if (!loadout.hasArmor(piece)) {
+                continue;
             }
-            if (!selectedEffects.isEmpty()) {
-                equipment.put(BetterMobsConfigKey.POTION_EFFECTS, selectedEffects);
+            spawnedArmor.add(piece.getPropertyName());
+            List<String> enchants = new ArrayList<>();
+            for (int i = 0; i < loadout.getEnchantmentCount(piece); i++) {
+                enchants.add(loadout.getEnchantment(piece, i));
             }
+            equipment.put(piece.getEnchantmentsKey(), enchants);
         }
+        equipment.put(BetterMobsConfigKey.ARMOR_CHANCES, spawnedArmor);
 
-        // Initialize all keys to avoid null checks later
-        for (BetterMobsConfigKey key : BetterMobsConfigKey.values()) {
-            equipment.putIfAbsent(key, List.of());
+        if (loadout.getTable().hasEnchantmentLevels()) {
+            equipment.put(BetterMobsConfigKey.ENCHANTMENT_LEVELS, List.of(
+                    String.valueOf(loadout.getFirstEnchantmentLevel()),
+                    String.valueOf(loadout.getSecondEnchantmentLevel())
+            ));
         }
 
-        // Speichere die Rüstungschancen auch in der Ausgabe
-        equipment.put(BetterMobsConfigKey.ARMOR_CHANCES,
-                armorSpawns.entrySet().stream()
-                        .filter(Map.Entry::getValue)
-                        .map(Map.Entry::getKey)
-                        .collect(java.util.stream.Collectors.toList()));
+        List<String> effects = new ArrayList<>();
+        for (int i = 0; i < loadout.getEffectCount(); i++) {
+            effects.add(loadout.getEffect(i));
+        }
+        equipment.put(BetterMobsConfigKey.POTION_EFFECTS, effects);
 
         return equipment;
     }
+
+    /**
+     * The scalar values and compiled roll tables of all three equipment lists. Published as a single
+     * object so that a config reload swaps all of them at once.
+     *
+     * @param dropChance    Drop chance of spawned armor in percent
+     * @param maxDurability Maximum durability of spawned armor in percent
+     * @param aboveZero     Roll table for mobs spawning above Y=0
+     * @param belowZero     Roll table for mobs spawning below Y=0
+     * @param netherEnd     Roll table for mobs spawning in the Nether or End
+     */
+    public record Snapshot(int dropChance,
+                           int maxDurability,
+                           EquipmentRollTable aboveZero,
+                           EquipmentRollTable belowZero,
+                           EquipmentRollTable netherEnd) {
+        static final Snapshot DEFAULT = new Snapshot(10, 250,
+                EquipmentRollTable.EMPTY, EquipmentRollTable.EMPTY, EquipmentRollTable.EMPTY);
+
+        /**
+         * Gets the roll table that applies to a mob spawning in the given dimension at the given height.
+         *
+         * @param dimension The dimension the mob spawns in
+         * @param y         The block Y coordinate of the spawn
+         * @return The matching roll table, never null
+         */
+        public EquipmentRollTable getRollTable(ResourceKey<Level> dimension, int y) {
+            if (dimension == Level.END || dimension == Level.NETHER) {
+                return netherEnd;
+            }
+            return y >= 0 ? aboveZero : belowZero;
+        }
+    }
+
+    /**
+     * Identity-based sets of the entity types from enabled_mobs and enabled_mobs_with_armor.
+     */
+    private record EntityTypeFilters(Set<EntityType<?>> enabled, Set<EntityType<?>> withArmor) {
+    }
 }
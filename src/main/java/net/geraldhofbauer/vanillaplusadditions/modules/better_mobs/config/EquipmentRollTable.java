@@ -0,0 +1,258 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Precompiled form of one Better Mobs equipment list (e.g. "above_zero").
+ * <p>
+ * The raw config entries have the form {@code KEY:property:value}. Parsing them on every
+ * spawn is wasteful, so each list is compiled once when the config is loaded into flat,
+ * primitive-backed tables. Rolling equipment for a mob is then reduced to RNG draws and
+ * array reads. Instances are immutable and can be shared freely between threads.
+ */
+public final class EquipmentRollTable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EquipmentRollTable.class);
+
+    /**
+     * Table used before the config has been loaded. Rolls nothing.
+     */
+    public static final EquipmentRollTable EMPTY = compile(List.of());
+
+    /**
+     * Marker in {@link #armorChances} for armor pieces that are not configured at all.
+     */
+    private static final int NOT_CONFIGURED = -1;
+
+    private final Map<BetterMobsConfigKey, RollList> rollLists;
+    private final int[] armorChances;
+    private final boolean hasEnchantmentLevels;
+    private final int minEnchantmentLevel;
+    private final int maxEnchantmentLevel;
+
+    private EquipmentRollTable(Map<BetterMobsConfigKey, RollList> rollLists,
+                               int[] armorChances,
+                               boolean hasEnchantmentLevels,
+                               int minEnchantmentLevel,
+                               int maxEnchantmentLevel) {
+        this.rollLists = rollLists;
+        this.armorChances = armorChances;
+        this.hasEnchantmentLevels = hasEnchantmentLevels;
+        this.minEnchantmentLevel = minEnchantmentLevel;
+        this.maxEnchantmentLevel = maxEnchantmentLevel;
+    }
+
+    /**
+     * Compiles a list of raw config entries into a roll table.
+     * Malformed entries are logged and skipped, just like before.
+     * Properties may carry a namespace ({@code KEY:namespace:property:value}) to refer to
+     * registry entries of other mods.
+     *
+     * @param entries The raw {@code KEY:property:value} entries
+     * @return The compiled table
+     */
+    public static EquipmentRollTable compile(List<? extends String> entries) {
+        Map<BetterMobsConfigKey, List<String>> names = new EnumMap<>(BetterMobsConfigKey.class);
+        Map<BetterMobsConfigKey, List<Integer>> chances = new EnumMap<>(BetterMobsConfigKey.class);
+        int[] armorChances = new int[ArmorPiece.VALUES.length];
+        Arrays.fill(armorChances, NOT_CONFIGURED);
+        boolean hasEnchantmentLevels = false;
+        int minLevel = 1;
+        int maxLevel = 1;
+
+        for (String entry : entries) {
+            // KEY:property:value oder KEY:namespace:property:value für Registry-IDs aus anderen Mods
+            String[] parts = entry.split(":");
+            if (parts.length != 3 && parts.length != 4) {
+                LOGGER.warn("Invalid config entry format: {}", entry);
+                continue;
+            }
+
+            BetterMobsConfigKey key;
+            int value;
+            try {
+                key = BetterMobsConfigKey.valueOf(parts[0]);
+                value = Integer.parseInt(parts[parts.length - 1]);
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Error parsing config entry: {}", entry, e);
+                continue;
+            }
+            String property = parts.length == 4 ? parts[1] + ":" + parts[2] : parts[1];
+
+            switch (key) {
+                case ARMOR_CHANCES -> {
+                    ArmorPiece piece = ArmorPiece.byPropertyName(property);
+                    if (piece == null) {
+                        LOGGER.warn("Unknown armor piece in config entry: {}", entry);
+                    } else {
+                        armorChances[piece.ordinal()] = value;
+                    }
+                }
+                case ENCHANTMENT_LEVELS -> {
+                    if (property.equals("min_level")) {
+                        minLevel = value;
+                        hasEnchantmentLevels = true;
+                    } else if (property.equals("max_level")) {
+                        maxLevel = value;
+                        hasEnchantmentLevels = true;
+                    }
+                }
+                default -> {
+                    names.computeIfAbsent(key, k -> new ArrayList<>()).add(property);
+                    chances.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+                }
+            }
+        }
+
+        Map<BetterMobsConfigKey, RollList> rollLists = new EnumMap<>(BetterMobsConfigKey.class);
+        for (BetterMobsConfigKey key : BetterMobsConfigKey.values()) {
+            List<String> keyNames = names.get(key);
+            if (keyNames == null) {
+                rollLists.put(key, RollList.EMPTY);
+                continue;
+            }
+            int[] keyChances = chances.get(key).stream().mapToInt(Integer::intValue).toArray();
+            rollLists.put(key, new RollList(keyNames.toArray(new String[0]), keyChances));
+        }
+
+        return new EquipmentRollTable(rollLists, armorChances, hasEnchantmentLevels, minLevel, maxLevel);
+    }
+
+    /**
+     * Rolls this table for one mob and writes the result into the given loadout.
+     * Performs only RNG draws and array reads; the loadout is reset first.
+     *
+     * @param random  The mob's RNG, already seeded
+     * @param loadout The scratch loadout to fill
+     */
+    public void roll(Random random, MobLoadout loadout) {
+        loadout.reset(this);
+
+        // Prüfe Rüstungschancen zuerst
+        for (ArmorPiece piece : ArmorPiece.VALUES) {
+            if (isArmorConfigured(piece) && random.nextInt(100) < getArmorChance(piece)) {
+                loadout.setArmor(piece, true);
+            }
+        }
+
+        // Gear Types - wähle einen zufälligen Typ basierend auf der Wahrscheinlichkeit
+        RollList gearTypes = rollLists.get(BetterMobsConfigKey.GEAR_TYPES);
+        for (int i = 0; i < gearTypes.size(); i++) {
+            if (random.nextInt(100) < gearTypes.getChance(i)) {
+                loadout.setGearTypeIndex(i);
+                break;
+            }
+        }
+
+        // Enchantments für jedes Ausrüstungsteil (nur wenn das entsprechende Teil spawnen soll)
+        for (ArmorPiece piece : ArmorPiece.VALUES) {
+            if (!loadout.hasArmor(piece)) {
+                continue;
+            }
+            RollList enchants = rollLists.get(piece.getEnchantmentsKey());
+            for (int i = 0; i < enchants.size(); i++) {
+                if (random.nextInt(100) < enchants.getChance(i)) {
+                    loadout.addEnchantment(piece, i);
+                }
+            }
+        }
+
+        // Enchantment Levels
+        int levelRange = Math.max(1, maxEnchantmentLevel - minEnchantmentLevel + 1);
+        loadout.setEnchantmentLevels(minEnchantmentLevel + random.nextInt(levelRange),
+                minEnchantmentLevel + random.nextInt(levelRange));
+
+        // Potion Effects
+        RollList effects = rollLists.get(BetterMobsConfigKey.POTION_EFFECTS);
+        for (int i = 0; i < effects.size(); i++) {
+            if (random.nextInt(100) < effects.getChance(i)) {
+                loadout.addEffect(i);
+            }
+        }
+    }
+
+    /**
+     * Gets the roll list for a key. Never returns null; unconfigured keys yield an empty list.
+     *
+     * @param key The config key
+     * @return The roll list for the key
+     */
+    public RollList getRollList(BetterMobsConfigKey key) {
+        return rollLists.get(key);
+    }
+
+    /**
+     * Gets the spawn chance for an armor piece.
+     *
+     * @param piece The armor piece
+     * @return The chance in percent, or -1 if the piece is not configured
+     */
+    public int getArmorChance(ArmorPiece piece) {
+        return armorChances[piece.ordinal()];
+    }
+
+    /**
+     * Checks whether the armor piece has a configured spawn chance.
+     *
+     * @param piece The armor piece
+     * @return true if the piece appears in the ARMOR_CHANCES entries
+     */
+    public boolean isArmorConfigured(ArmorPiece piece) {
+        return armorChances[piece.ordinal()] != NOT_CONFIGURED;
+    }
+
+    /**
+     * Whether the list contains any ENCHANTMENT_LEVELS entries.
+     *
+     * @return true if enchantment levels are configured
+     */
+    public boolean hasEnchantmentLevels() {
+        return hasEnchantmentLevels;
+    }
+
+    public int getMinEnchantmentLevel() {
+        return minEnchantmentLevel;
+    }
+
+    public int getMaxEnchantmentLevel() {
+        return maxEnchantmentLevel;
+    }
+
+    /**
+     * Compiled list of names and their roll chances for a single config key.
+     */
+    public static final class RollList {
+        static final RollList EMPTY = new RollList(new String[0], new int[0]);
+
+        private final String[] names;
+        private final int[] chances;
+
+        RollList(String[] names, int[] chances) {
+            this.names = names;
+            this.chances = chances;
+        }
+
+        public int size() {
+            return names.length;
+        }
+
+        public boolean isEmpty() {
+            return names.length == 0;
+        }
+
+        public String getName(int index) {
+            return names[index];
+        }
+
+        public int getChance(int index) {
+            return chances[index];
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.better_mobs.config;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Mutable scratch result of rolling an {@link EquipmentRollTable} for a single mob.
+ * <p>
+ * Selected entries are stored as indices into the table's roll lists, so filling a loadout
+ * never allocates once its index buffers have grown to the size of the configured lists.
+ * A loadout is meant to be reused (e.g. one per thread) and is only valid until the next
+ * {@link EquipmentRollTable#roll(Random, MobLoadout)} call on it.
+ */
+public final class MobLoadout {
+    private static final int NONE = -1;
+    private static final int PIECE_COUNT = ArmorPiece.values().length;
+
+    private EquipmentRollTable table = EquipmentRollTable.EMPTY;
+    private int gearTypeIndex = NONE;
+    private final boolean[] armor = new boolean[PIECE_COUNT];
+    private final int[][] enchantments = new int[PIECE_COUNT][0];
+    private final int[] enchantmentCounts = new int[PIECE_COUNT];
+    private int firstEnchantmentLevel;
+    private int secondEnchantmentLevel;
+    private int[] effects = new int[0];
+    private int effectCount;
+
+    /**
+     * Clears this loadout and binds it to the table that is about to be rolled.
+     */
+    void reset(EquipmentRollTable rollTable) {
+        this.table = rollTable;
+        this.gearTypeIndex = NONE;
+        Arrays.fill(armor, false);
+        Arrays.fill(enchantmentCounts, 0);
+        this.firstEnchantmentLevel = 1;
+        this.secondEnchantmentLevel = 1;
+        this.effectCount = 0;
+    }
+
+    void setGearTypeIndex(int index) {
+        this.gearTypeIndex = index;
+    }
+
+    void setArmor(ArmorPiece piece, boolean spawns) {
+        armor[piece.ordinal()] = spawns;
+    }
+
+    void addEnchantment(ArmorPiece piece, int index) {
+        int slot = piece.ordinal();
+        int count = enchantmentCounts[slot];
+        if (count == enchantments[slot].length) {
+            enchantments[slot] = Arrays.copyOf(enchantments[slot], Math.max(4, count * 2));
+        }
+        enchantments[slot][count] = index;
+        enchantmentCounts[slot] = count + 1;
+    }
+
+    void setEnchantmentLevels(int first, int second) {
+        this.firstEnchantmentLevel = first;
+        this.secondEnchantmentLevel = second;
+    }
+
+    void addEffect(int index) {
+        if (effectCount == effects.length) {
+            effects = Arrays.copyOf(effects, Math.max(4, effectCount * 2));
+        }
+        effects[effectCount++] = index;
+    }
+
+    /**
+     * Gets the table this loadout was rolled from.
+     *
+     * @return The roll table
+     */
+    public EquipmentRollTable getTable() {
+        return table;
+    }
+
+    /**
+     * Gets the rolled gear type (material) name.
+     *
+     * @return The gear type, or null if no gear type was rolled
+     */
+    public @Nullable String getGearType() {
+        return gearTypeIndex == NONE
+                ? null
+                : table.getRollList(BetterMobsConfigKey.GEAR_TYPES).getName(gearTypeIndex);
+    }
+
+    /**
+     * Gets the index of the rolled gear type in the GEAR_TYPES roll list.
+     *
+     * @return The gear type index, or -1 if no gear type was rolled
+     */
+    public int getGearTypeIndex() {
+        return gearTypeIndex;
+    }
+
+    public boolean hasArmor(ArmorPiece piece) {
+        return armor[piece.ordinal()];
+    }
+
+    public int getEnchantmentCount(ArmorPiece piece) {
+        return enchantmentCounts[piece.ordinal()];
+    }
+
+    /**
+     * Gets the index of a selected enchantment in the piece's enchantment roll list.
+     *
+     * @param piece The armor piece
+     * @param i     The selection index, {@code 0 <= i < getEnchantmentCount(piece)}
+     * @return The roll list index
+     */
+    public int getEnchantmentIndex(ArmorPiece piece, int i) {
+        return enchantments[piece.ordinal()][i];
+    }
+
+    /**
+     * Gets the name of a selected enchantment.
+     *
+     * @param piece The armor piece
+     * @param i     The selection index, {@code 0 <= i < getEnchantmentCount(piece)}
+     * @return The enchantment name as written in the config
+     */
+    public String getEnchantment(ArmorPiece piece, int i) {
+        return table.getRollList(piece.getEnchantmentsKey()).getName(getEnchantmentIndex(piece, i));
+    }
+
+    /**
+     * Picks one of the two rolled enchantment levels.
+     *
+     * @param random The mob's RNG
+     * @return The enchantment level to apply
+     */
+    public int pickEnchantmentLevel(Random random) {
+        return random.nextInt(2) == 0 ? firstEnchantmentLevel : secondEnchantmentLevel;
+    }
+
+    public int getFirstEnchantmentLevel() {
+        return firstEnchantmentLevel;
+    }
+
+    public int getSecondEnchantmentLevel() {
+        return secondEnchantmentLevel;
+    }
+
+    public int getEffectCount() {
+        return effectCount;
+    }
+
+    /**
+     * Gets the index of a selected effect in the POTION_EFFECTS roll list.
+     *
+     * @param i The selection index, {@code 0 <= i < getEffectCount()}
+     * @return The roll list index
+     */
+    public int getEffectIndex(int i) {
+        return effects[i];
+    }
+
+    /**
+     * Gets the name of a selected effect.
+     *
+     * @param i The selection index, {@code 0 <= i < getEffectCount()}
+     * @return The effect name as written in the config
+     */
+    public String getEffect(int i) {
+        return table.getRollList(BetterMobsConfigKey.POTION_EFFECTS).getName(effects[i]);
+    }
+}
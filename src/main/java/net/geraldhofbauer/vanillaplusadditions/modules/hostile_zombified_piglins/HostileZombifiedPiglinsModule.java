@@ -1,19 +1,33 @@
 package net.geraldhofbauer.vanillaplusadditions.modules.hostile_zombified_piglins;
 
 import net.geraldhofbauer.vanillaplusadditions.core.AbstractModule;
+import net.geraldhofbauer.vanillaplusadditions.core.HandlerTimer;
 import net.geraldhofbauer.vanillaplusadditions.modules.hostile_zombified_piglins.config.HostileZombifiedPiglinsConfig;
 import net.geraldhofbauer.vanillaplusadditions.modules.hostile_zombified_piglins.models.NearestPlayerTime;
+import net.geraldhofbauer.vanillaplusadditions.modules.hostile_zombified_piglins.models.PiglinTargetStore;
+import net.geraldhofbauer.vanillaplusadditions.modules.hostile_zombified_piglins.models.PlayerSnapshot;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.monster.ZombifiedPiglin;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.SubscribeEvent;
-import net.neoforged.neoforge.common.NeoForge;
 import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
-import net.neoforged.neoforge.event.tick.EntityTickEvent;
+import net.neoforged.neoforge.event.entity.EntityLeaveLevelEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import net.neoforged.neoforge.server.ServerLifecycleHooks;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 /**
  * Hostile Zombified Piglins Module
@@ -38,7 +52,26 @@ public class HostileZombifiedPiglinsModule
     // the piglin won't switch targets immediately. However, if the player stays in range,
     // the piglin will eventually switch to the new nearest player. This creates a more dynamic
     // and challenging experience.
-    private HashMap<UUID, NearestPlayerTime> angryPiglins = new HashMap<>(); // Maps piglin UUIDs
+    private final PiglinTargetStore angryPiglins = new PiglinTargetStore(); // Per level, by piglin entity ID
+
+    // A competing player has to be at least 20% closer than the current target to count as the nearest
+    private static final double TARGET_SWITCH_DISTANCE_FACTOR_SQ = 0.8 * 0.8;
+
+    // Per-level snapshot of targetable players, rebuilt at most once per server tick
+    private final Map<ResourceKey<Level>, PlayerSnapshot> playerSnapshots = new HashMap<>();
+
+    // Tracked piglins, spread over round-robin buckets; one bucket is maintained per server tick
+    private final HostilityScheduler scheduler = new HostilityScheduler();
+    private final Consumer<ZombifiedPiglin> maintainHostilityAction = this::maintainHostility;
+
+    // Number of anger state writes (target + timer), and the rate measured over the last second
+    private long angerWrites;
+    private long angerWritesAtLastSample;
+    private volatile long angerWritesPerSecond;
+
+    // Timers for /vpamodules timings
+    private final HandlerTimer entityJoinTimer = createHandlerTimer("onEntityJoinLevel");
+    private final HandlerTimer serverTickTimer = createHandlerTimer("onServerTick");
 
     public HostileZombifiedPiglinsModule() {
         super("hostile_zombified_piglins",
@@ -51,9 +84,6 @@ public class HostileZombifiedPiglinsModule
 
     @Override
     protected void onInitialize() {
-        // Register event listeners for this module
-        NeoForge.EVENT_BUS.register(this);
-
         getLogger().info("Hostile Zombified Piglins module initialized - Nether just got more dangerous!");
     }
 
@@ -65,18 +95,31 @@ public class HostileZombifiedPiglinsModule
     }
 
     /**
-     * Event handler that makes zombified piglins aggressive when they spawn
+     * Event handler that makes zombified piglins aggressive when they spawn.
+     * Runs last, so joins cancelled by other listeners are never tracked.
      */
-    @SubscribeEvent
+    @SubscribeEvent(priority = EventPriority.LOWEST)
     public void onEntityJoinLevel(EntityJoinLevelEvent event) {
-        if (!isModuleEnabled()) {
+        long start = entityJoinTimer.start();
+        handleEntityJoinLevel(event);
+        entityJoinTimer.stop(start);
+    }
+
+    private void handleEntityJoinLevel(EntityJoinLevelEvent event) {
+        if (!isModuleEnabled() || event.isCanceled()) {
             return;
         }
 
         // Check if the entity is a zombified piglin
-        if (event.getEntity() instanceof ZombifiedPiglin zombifiedPiglin) {
+        if (event.getEntity() instanceof ZombifiedPiglin zombifiedPiglin
+                && event.getLevel() instanceof ServerLevel serverLevel) {
             // Make it angry at all nearby players immediately
-            angryPiglins.put(zombifiedPiglin.getUUID(), makeHostileToPlayer(zombifiedPiglin, null));
+            NearestPlayerTime target = makeHostileToPlayer(getConfig().getSnapshot(), serverLevel,
+                    zombifiedPiglin, null);
+            if (target != null) {
+                angryPiglins.put(serverLevel.dimension(), zombifiedPiglin.getId(), target);
+            }
+            scheduler.track(zombifiedPiglin);
 
             if (getConfig().shouldDebugLog()) {
                 getLogger().debug("Made zombified piglin hostile at spawn: {}", zombifiedPiglin.getUUID());
@@ -85,60 +128,170 @@ public class HostileZombifiedPiglinsModule
     }
 
     /**
-     * Event handler that maintains hostility over time
+     * Forgets piglins that are killed, despawned, unloaded or change dimension.
      */
     @SubscribeEvent
-    public void onEntityTick(EntityTickEvent.Pre event) {
+    public void onEntityLeaveLevel(EntityLeaveLevelEvent event) {
+        if (event.getEntity() instanceof ZombifiedPiglin zombifiedPiglin
+                && event.getLevel() instanceof ServerLevel serverLevel) {
+            angryPiglins.remove(serverLevel.dimension(), zombifiedPiglin.getId());
+        }
+    }
+
+    /**
+     * Drops all state of a level when it unloads.
+     */
+    @SubscribeEvent
+    public void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel serverLevel) {
+            angryPiglins.removeLevel(serverLevel.dimension());
+            PlayerSnapshot snapshot = playerSnapshots.remove(serverLevel.dimension());
+            if (snapshot != null) {
+                snapshot.clear();
+            }
+        }
+    }
+
+    /**
+     * Maintains hostility for one bucket of tracked piglins per tick, within the configured
+     * time budget, and samples the anger write counter once per second.
+     */
+    @SubscribeEvent
+    public void onServerTick(ServerTickEvent.Post event) {
+        long start = serverTickTimer.start();
+        handleServerTick(event);
+        serverTickTimer.stop(start);
+    }
+
+    private void handleServerTick(ServerTickEvent.Post event) {
         if (!isModuleEnabled()) {
             return;
         }
 
-        // Only process every 20 ticks (1 second) to avoid performance issues
-        if (event.getEntity().tickCount % 20 != 0) {
+        scheduler.tick(getConfig().getSnapshot().tickBudgetMicros() * 1000L, maintainHostilityAction);
+
+        if (event.getServer().getTickCount() % 20 != 0) {
             return;
         }
+        angerWritesPerSecond = angerWrites - angerWritesAtLastSample;
+        angerWritesAtLastSample = angerWrites;
+        if (angerWritesPerSecond > 0 && getConfig().shouldDebugLog()) {
+            getLogger().debug("Zombified piglin anger writes in the last second: {}", angerWritesPerSecond);
+        }
+    }
 
-        if (event.getEntity() instanceof ZombifiedPiglin zombifiedPiglin) {
-            // Ensure it stays angry and doesn't calm down
-            maintainHostility(zombifiedPiglin);
+    @SubscribeEvent
+    public void onServerStopped(ServerStoppedEvent event) {
+        clearState();
+    }
+
+    /**
+     * Starts tracking the piglins that were loaded while the module was disabled.
+     */
+    @Override
+    protected void onEnable() {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
+            return; // Piglins are tracked as they join once a server runs
+        }
+        for (ServerLevel serverLevel : server.getAllLevels()) {
+            for (ZombifiedPiglin zombifiedPiglin : serverLevel.getEntities(EntityType.ZOMBIFIED_PIGLIN,
+                    piglin -> !piglin.isRemoved())) {
+                scheduler.track(zombifiedPiglin);
+            }
+        }
+        if (getConfig().shouldDebugLog()) {
+            getLogger().debug("Tracking {} loaded zombified piglins after enabling", scheduler.size());
         }
     }
 
+    @Override
+    protected void onDisable() {
+        clearState();
+    }
+
+    private void clearState() {
+        scheduler.clear();
+        angryPiglins.clear();
+        playerSnapshots.clear();
+    }
+
+    /**
+     * Gets the number of piglins currently tracked for hostility maintenance.
+     *
+     * @return The number of tracked piglins
+     */
+    public int getTrackedPiglinCount() {
+        return scheduler.size();
+    }
+
+    /**
+     * Gets the number of piglins with a stored anger target over all levels.
+     * Should stay bounded by the number of loaded zombified piglins.
+     *
+     * @return The number of stored anger targets
+     */
+    public int getAngryPiglinCount() {
+        return angryPiglins.size();
+    }
+
+    /**
+     * Gets the total number of anger state writes (persistent anger target and timer) since server start.
+     *
+     * @return The total anger write count
+     */
+    public long getAngerWriteCount() {
+        return angerWrites;
+    }
+
+    /**
+     * Gets the number of anger state writes during the last full second.
+     *
+     * @return Anger writes per second
+     */
+    public long getAngerWritesPerSecond() {
+        return angerWritesPerSecond;
+    }
+
+    @Override
+    public List<String> getStatusLines() {
+        return List.of(
+                "Tracked piglins: " + getTrackedPiglinCount() + ", angry: " + getAngryPiglinCount(),
+                "Anger writes: " + getAngerWritesPerSecond() + "/s (" + getAngerWriteCount() + " total)");
+    }
+
     /**
      * Makes a zombified piglin hostile to all players in the area and returns the nearest
      * player (the one that was targeted).
      *
      * @return The nearest player that was targeted, or null if no players are nearby
      */
-    private NearestPlayerTime makeHostileToPlayer(ZombifiedPiglin zombifiedPiglin, @Nullable Player specificPlayer) {
-        Player targetPlayer = null;
+    private @Nullable NearestPlayerTime makeHostileToPlayer(HostileZombifiedPiglinsConfig.Snapshot config,
+                                                            ServerLevel level, ZombifiedPiglin zombifiedPiglin,
+                                                            @Nullable UUID specificPlayerId) {
+        UUID targetPlayerId;
 
-        if (specificPlayer == null) {
-            var nearbyPlayers = getNearbyPlayers(zombifiedPiglin);
-            if (nearbyPlayers == null) {
-                return null;
-            }
-            // Set the first player as the persistent anger target
-            if (getConfig().shouldDebugLog()) {
-                getLogger().debug("Found {} nearby players for zombified piglin {}",
-                        nearbyPlayers.size(), zombifiedPiglin.getUUID());
-            }
-            if (nearbyPlayers.isEmpty()) {
+        if (specificPlayerId == null) {
+            Player targetPlayer = selectTarget(config, level, zombifiedPiglin, null);
+            if (targetPlayer == null) {
                 // No players nearby, clear anger
                 zombifiedPiglin.setRemainingPersistentAngerTime(0);
                 zombifiedPiglin.setPersistentAngerTarget(null);
                 return null;
             }
-
-            targetPlayer = nearbyPlayers.getFirst();
+            if (getConfig().shouldDebugLog()) {
+                getLogger().debug("Found nearby player {} for zombified piglin {}",
+                        targetPlayer.getUUID(), zombifiedPiglin.getUUID());
+            }
+            targetPlayerId = targetPlayer.getUUID();
         } else {
-            targetPlayer = specificPlayer;
+            targetPlayerId = specificPlayerId;
         }
 
-        zombifiedPiglin.setPersistentAngerTarget(targetPlayer.getUUID());
+        zombifiedPiglin.setPersistentAngerTarget(targetPlayerId);
 
         // Use configured anger duration
-        int angerDuration = getConfig().getAngerDurationValue();
+        int angerDuration = config.angerDuration();
         if (angerDuration == -1) {
             // Indefinite anger
             zombifiedPiglin.setRemainingPersistentAngerTime(Integer.MAX_VALUE);
@@ -147,47 +300,69 @@ public class HostileZombifiedPiglinsModule
         }
 
         zombifiedPiglin.startPersistentAngerTimer();
+        angerWrites++;
 
-        return new NearestPlayerTime(targetPlayer, System.currentTimeMillis());
+        return new NearestPlayerTime(targetPlayerId, level.getGameTime());
     }
 
-    private @Nullable List<Player> getNearbyPlayers(ZombifiedPiglin zombifiedPiglin) {
-        if (zombifiedPiglin.level().isClientSide) {
-            return null;
-        }
-
-        // Get detection range from configuration
-        int detectionRange = getConfig().getDetectionRangeValue();
+    /**
+     * Selects the player a piglin should be angry at from this tick's player snapshot.
+     * <p>
+     * Picks the nearest player in detection range, with hysteresis, see
+     * {@link PlayerSnapshot#selectTarget}.
+     *
+     * @param config        The config snapshot of the current event
+     * @param currentTarget The piglin's current target, or null if it has none
+     * @return The selected player, or null if no player is in range
+     */
+    private @Nullable Player selectTarget(HostileZombifiedPiglinsConfig.Snapshot config, ServerLevel level,
+                                          ZombifiedPiglin zombifiedPiglin, @Nullable UUID currentTarget) {
+        PlayerSnapshot snapshot = getPlayerSnapshot(level);
+        double x = zombifiedPiglin.getX();
+        double y = zombifiedPiglin.getY();
+        double z = zombifiedPiglin.getZ();
+        double detectionRange = config.detectionRange();
+        int current = currentTarget != null ? snapshot.indexOf(currentTarget) : -1;
+        int target = snapshot.selectTarget(x, y, z, detectionRange * detectionRange, current,
+                TARGET_SWITCH_DISTANCE_FACTOR_SQ);
+        return target >= 0 ? snapshot.get(target) : null;
+    }
 
-        // Find all players within the configured range
-        var level = zombifiedPiglin.level();
-        var nearbyPlayers = level.getEntitiesOfClass(Player.class,
-                zombifiedPiglin.getBoundingBox().inflate(detectionRange),
-                player -> !player.isCreative() && !player.isSpectator());
-        return nearbyPlayers;
+    /**
+     * Gets the player snapshot of a level, rebuilding it if it was taken in an earlier server tick.
+     */
+    private PlayerSnapshot getPlayerSnapshot(ServerLevel level) {
+        PlayerSnapshot snapshot = playerSnapshots.computeIfAbsent(level.dimension(), key -> new PlayerSnapshot());
+        long currentTick = level.getServer().getTickCount();
+        if (snapshot.isStale(currentTick)) {
+            snapshot.rebuild(level, currentTick);
+        }
+        return snapshot;
     }
 
     /**
      * Maintains the zombified piglin's hostility over time
      */
     private void maintainHostility(ZombifiedPiglin zombifiedPiglin) {
-        if (zombifiedPiglin.level().isClientSide) {
+        if (!(zombifiedPiglin.level() instanceof ServerLevel serverLevel)) {
             return; // Only process on server side
         }
 
-        // If the piglin isn't angry, find a nearby player to be angry at
+        // Config is read once per piglin visit
+        HostileZombifiedPiglinsConfig.Snapshot config = getConfig().getSnapshot();
+        boolean debug = getConfig().shouldDebugLog();
 
-        var nearbyPlayers = getNearbyPlayers(zombifiedPiglin);
-        if (nearbyPlayers == null) {
-            return;
-        }
-        Player nearestPlayer = nearbyPlayers.isEmpty() ? null : nearbyPlayers.getFirst();
+        // If the piglin isn't angry, find a nearby player to be angry at
+        ResourceKey<Level> dimension = serverLevel.dimension();
+        NearestPlayerTime currentTarget = angryPiglins.get(dimension, zombifiedPiglin.getId());
+        Player nearestPlayer = selectTarget(config, serverLevel, zombifiedPiglin,
+                currentTarget == null ? null : currentTarget.playerId());
         if (nearestPlayer == null) {
             // No players nearby, clear anger
-            angryPiglins.remove(zombifiedPiglin.getUUID());
+            angryPiglins.remove(dimension, zombifiedPiglin.getId());
             zombifiedPiglin.setRemainingPersistentAngerTime(0);
             zombifiedPiglin.setPersistentAngerTarget(null);
-            if (getConfig().shouldDebugLog()) {
+            if (debug) {
                 getLogger().debug("Zombified piglin {} calmed down (no players nearby)",
                         zombifiedPiglin.getUUID());
             }
@@ -195,45 +370,45 @@ public class HostileZombifiedPiglinsModule
         }
 
         // Check if we need to switch anger target
-        NearestPlayerTime currentTarget = angryPiglins.get(zombifiedPiglin.getUUID());
-        Player newTarget = currentTarget == null ? nearestPlayer : currentTarget.player();
-        long newTimeStamp = currentTarget == null ? System.currentTimeMillis()
-                : currentTarget.timeStamp();
+        UUID nearestPlayerId = nearestPlayer.getUUID();
+        UUID newTarget = currentTarget == null ? nearestPlayerId : currentTarget.playerId();
+        long gameTime = serverLevel.getGameTime();
+        long newTick = currentTarget == null ? gameTime : currentTarget.tick();
         // If the nearest player is different from the current target, check if we can switch
         if (currentTarget == null
-                || !currentTarget.player().getUUID().equals(nearestPlayer.getUUID())) {
+                || !currentTarget.playerId().equals(nearestPlayerId)) {
             // New nearest player, check if we can switch
-            if (currentTarget == null || System.currentTimeMillis() - currentTarget.timeStamp()
-                    > getConfig().getTargetSwitchThresholdValue(true)) { // 10 seconds threshold
-                newTarget = nearestPlayer;
-                if (getConfig().shouldDebugLog()) {
+            if (currentTarget == null
+                    || gameTime - currentTarget.tick() > config.targetSwitchThresholdTicks()) {
+                newTarget = nearestPlayerId;
+                if (debug) {
                     getLogger().debug("Zombified piglin {} switching anger target to player {}",
-                            zombifiedPiglin.getUUID(), newTarget.getUUID());
+                            zombifiedPiglin.getUUID(), newTarget);
                 }
             }
-        } else if (currentTarget.player().getUUID().equals(nearestPlayer.getUUID())) {
-            // Same player, update timestamp
-            newTarget = currentTarget.player();
-            newTimeStamp = System.currentTimeMillis();
+        } else {
+            // Same player, update tick
+            newTarget = currentTarget.playerId();
+            newTick = gameTime;
         }
         // Update the map
-        angryPiglins.put(zombifiedPiglin.getUUID(), new NearestPlayerTime(newTarget, newTimeStamp));
+        angryPiglins.put(dimension, zombifiedPiglin.getId(), new NearestPlayerTime(newTarget, newTick));
 
-        if (!zombifiedPiglin.isAngryAt(newTarget)
+        if (!newTarget.equals(zombifiedPiglin.getPersistentAngerTarget())
                 || zombifiedPiglin.getRemainingPersistentAngerTime() < 100) {
-            var targetPlayerTime = makeHostileToPlayer(zombifiedPiglin, newTarget);
+            var targetPlayerTime = makeHostileToPlayer(config, serverLevel, zombifiedPiglin, newTarget);
             if (targetPlayerTime != null) {
-                if (getConfig().shouldDebugLog()) {
+                if (debug) {
                     getLogger().debug("Zombified piglin {} re-angered at player {}",
-                            zombifiedPiglin.getUUID(), targetPlayerTime.player().getUUID());
+                            zombifiedPiglin.getUUID(), targetPlayerTime.playerId());
                 }
-//                angryPiglins.put(zombifiedPiglin.getUUID(), targetPlayerTime);
+//                angryPiglins.put(dimension, zombifiedPiglin.getId(), targetPlayerTime);
             } else {
                 // No players nearby, clear anger
-                angryPiglins.remove(zombifiedPiglin.getUUID());
+                angryPiglins.remove(dimension, zombifiedPiglin.getId());
                 zombifiedPiglin.setRemainingPersistentAngerTime(0);
                 zombifiedPiglin.setPersistentAngerTarget(null);
-                if (getConfig().shouldDebugLog()) {
+                if (debug) {
                     getLogger().debug("Zombified piglin {} calmed down (no players nearby)",
                             zombifiedPiglin.getUUID());
                 }
@@ -241,7 +416,7 @@ public class HostileZombifiedPiglinsModule
         }
 
         // Ensure anger time doesn't decrease naturally (only if configured for indefinite anger)
-        int configuredDuration = getConfig().getAngerDurationValue();
+        int configuredDuration = config.angerDuration();
         if (configuredDuration == -1
                 && zombifiedPiglin.getRemainingPersistentAngerTime() < Integer.MAX_VALUE / 2) {
             zombifiedPiglin.setRemainingPersistentAngerTime(Integer.MAX_VALUE);
@@ -0,0 +1,98 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.hostile_zombified_piglins;
+
+import net.minecraft.world.entity.monster.ZombifiedPiglin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Round-robin scheduler for zombified piglin hostility maintenance.
+ * <p>
+ * Tracked piglins are spread evenly over {@link #BUCKET_COUNT} buckets as they join a level,
+ * and one bucket is processed per server tick, so every piglin is visited about once per
+ * second without the whole population landing on the same tick. Processing stops when the
+ * per-tick time budget is used up and resumes at the same position on the next tick.
+ * Removed piglins are dropped lazily when their bucket comes up.
+ */
+final class HostilityScheduler {
+    static final int BUCKET_COUNT = 20;
+
+    private final List<List<ZombifiedPiglin>> buckets = new ArrayList<>(BUCKET_COUNT);
+    private int nextBucket;
+    private int currentBucket;
+    private int cursor;
+    private int size;
+
+    HostilityScheduler() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.add(new ArrayList<>());
+        }
+    }
+
+    /**
+     * Starts tracking a piglin, assigning it to the next bucket in round-robin order.
+     *
+     * @param zombifiedPiglin The piglin to track
+     */
+    void track(ZombifiedPiglin zombifiedPiglin) {
+        buckets.get(nextBucket).add(zombifiedPiglin);
+        nextBucket = (nextBucket + 1) % BUCKET_COUNT;
+        size++;
+    }
+
+    /**
+     * Processes the current bucket until it is done or the time budget is exhausted.
+     *
+     * @param budgetNanos The time budget for this tick in nanoseconds, or 0 for no limit
+     * @param action      The action to run for every live piglin
+     */
+    void tick(long budgetNanos, Consumer<ZombifiedPiglin> action) {
+        List<ZombifiedPiglin> bucket = buckets.get(currentBucket);
+        long deadline = budgetNanos > 0 ? System.nanoTime() + budgetNanos : Long.MAX_VALUE;
+
+        while (cursor < bucket.size()) {
+            ZombifiedPiglin zombifiedPiglin = bucket.get(cursor);
+            if (zombifiedPiglin.isRemoved()) {
+                // Swap-remove: the last entry takes this slot and is processed next
+                int last = bucket.size() - 1;
+                bucket.set(cursor, bucket.get(last));
+                bucket.remove(last);
+                size--;
+                continue;
+            }
+
+            action.accept(zombifiedPiglin);
+            cursor++;
+
+            if (budgetNanos > 0 && System.nanoTime() >= deadline) {
+                return; // Resume here on the next tick
+            }
+        }
+
+        cursor = 0;
+        currentBucket = (currentBucket + 1) % BUCKET_COUNT;
+    }
+
+    /**
+     * Gets the number of tracked piglins, including removed ones not yet swept.
+     *
+     * @return The number of tracked piglins
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Stops tracking all piglins.
+     */
+    void clear() {
+        for (List<ZombifiedPiglin> bucket : buckets) {
+            bucket.clear();
+        }
+        nextBucket = 0;
+        currentBucket = 0;
+        cursor = 0;
+        size = 0;
+    }
+}
@@ -18,6 +18,10 @@ public class HostileZombifiedPiglinsConfig
     private ModConfigSpec.IntValue detectionRange;
     private ModConfigSpec.IntValue angerDuration;
     private ModConfigSpec.DoubleValue targetSwitchThreshold;
+    private ModConfigSpec.IntValue tickBudgetMicros;
+
+    // Values copied in onConfigLoad, replaced as a whole on reload
+    private volatile Snapshot snapshot = Snapshot.DEFAULT;
 
     /**
      * Creates a new HostileZombifiedPiglinsConfig.
@@ -56,6 +60,15 @@ public class HostileZombifiedPiglinsConfig
         return targetSwitchThreshold;
     }
 
+    /**
+     * Gets the per-tick time budget configuration value. (In microseconds)
+     *
+     * @return The per-tick time budget configuration value
+     */
+    public ModConfigSpec.IntValue getTickBudgetMicros() {
+        return tickBudgetMicros;
+    }
+
     @Override
     protected void buildModuleSpecificConfig(ModConfigSpec.Builder builder) {
         detectionRange = builder
@@ -67,21 +80,33 @@ public class HostileZombifiedPiglinsConfig
                 .defineInRange("anger_duration", 200, -1, Integer.MAX_VALUE);
 
         targetSwitchThreshold = builder
-                .comment("Time in seconds before a zombified piglin can switch to a new nearest player target")
+                .comment("Time in seconds (game time, 20 ticks each) before a zombified piglin can switch to a new "
+                        + "nearest player target")
                 .defineInRange("target_switch_threshold", 5.0, 0.0, Double.MAX_VALUE);
 
+        tickBudgetMicros = builder
+                .comment("Time budget in microseconds per server tick for maintaining piglin hostility "
+                        + "(0 for unlimited). Piglins not reached in a tick are processed in the next one.")
+                .defineInRange("tick_budget_micros", 1000, 0, 50000);
+
         LOGGER.debug("Built module-specific configuration for Hostile Zombified Piglins module");
     }
 
     @Override
     public void onConfigLoad(ModConfigSpec spec) {
         super.onConfigLoad(spec); // Call parent to handle enabled logging
+        if (detectionRange != null && angerDuration != null
+                && targetSwitchThreshold != null && tickBudgetMicros != null) {
+            snapshot = new Snapshot(detectionRange.get(), angerDuration.get(),
+                    targetSwitchThreshold.get(), tickBudgetMicros.get());
+        }
         // React to module-specific configuration changes if needed
         LOGGER.debug("Module-specific configuration loaded for Hostile Zombified Piglins module");
         if (detectionRange != null && angerDuration != null) {
             LOGGER.debug("  - Detection range: {} blocks", detectionRange.get());
             LOGGER.debug("  - Anger duration: {} ticks", angerDuration.get());
             LOGGER.debug("  - Target switch threshold: {} seconds", targetSwitchThreshold.get());
+            LOGGER.debug("  - Tick budget: {} µs", tickBudgetMicros.get());
         }
     }
 
@@ -92,7 +117,7 @@ public class HostileZombifiedPiglinsConfig
      * @return detection range in blocks, or default value if not configured
      */
     public int getDetectionRangeValue() {
-        return detectionRange != null ? detectionRange.get() : 32;
+        return snapshot.detectionRange();
     }
 
     /**
@@ -101,7 +126,7 @@ public class HostileZombifiedPiglinsConfig
      * @return anger duration in ticks, or default value if not configured
      */
     public int getAngerDurationValue() {
-        return angerDuration != null ? angerDuration.get() : 200;
+        return snapshot.angerDuration();
     }
 
     /**
@@ -111,12 +136,64 @@ public class HostileZombifiedPiglinsConfig
      * @return target switch threshold in seconds/milliseconds, or default value if not configured
      */
     public double getTargetSwitchThresholdValue(boolean convertToMillis) {
-        double seconds = targetSwitchThreshold != null ? targetSwitchThreshold.get() : 5;
+        double seconds = snapshot.targetSwitchThresholdSeconds();
         return convertToMillis ? seconds * 1000 : seconds;
     }
 
+    /**
+     * Gets the configured per-tick time budget for hostility maintenance.
+     *
+     * @return time budget in microseconds (0 for unlimited), or default value if not configured
+     */
+    public int getTickBudgetMicrosValue() {
+        return snapshot.tickBudgetMicros();
+    }
+
     public double getTargetSwitchThresholdValue() {
         return getTargetSwitchThresholdValue(false);
     }
-    
+
+    /**
+     * Gets the configured target switch threshold in game ticks.
+     *
+     * @return target switch threshold in ticks, or default value if not configured
+     */
+    public long getTargetSwitchThresholdTicks() {
+        return snapshot.targetSwitchThresholdTicks();
+    }
+
+    /**
+     * Gets the values of the last config load as one immutable snapshot.
+     * Hot paths should read this once per event instead of calling the individual getters.
+     *
+     * @return The current snapshot, or the defaults if the config is not loaded yet
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Immutable copy of the module-specific configuration values.
+     *
+     * @param detectionRange               Range in blocks to detect players
+     * @param angerDuration                Anger duration in ticks (-1 for indefinite)
+     * @param targetSwitchThresholdSeconds Time in seconds before a piglin can switch targets
+     * @param tickBudgetMicros             Per-tick time budget in microseconds (0 for unlimited)
+     */
+    public record Snapshot(int detectionRange,
+                           int angerDuration,
+                           double targetSwitchThresholdSeconds,
+                           int tickBudgetMicros) {
+        static final Snapshot DEFAULT = new Snapshot(32, 200, 5.0, 1000);
+
+        /**
+         * Gets the target switch threshold converted to game ticks, so it always agrees with
+         * {@link #targetSwitchThresholdSeconds()}.
+         *
+         * @return The target switch threshold in ticks
+         */
+        public long targetSwitchThresholdTicks() {
+            return Math.round(targetSwitchThresholdSeconds * 20);
+        }
+    }
 }
\ No newline at end of file
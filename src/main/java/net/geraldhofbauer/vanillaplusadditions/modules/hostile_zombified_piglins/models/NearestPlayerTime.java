@@ -1,11 +1,16 @@
 package net.geraldhofbauer.vanillaplusadditions.modules.hostile_zombified_piglins.models;
 
 
-import net.minecraft.world.entity.player.Player;
+import java.util.UUID;
 
-public record NearestPlayerTime(Player player, long timeStamp) implements Comparable<NearestPlayerTime> {
+/**
+ * The player a piglin is angry at and the game tick at which that player was last its nearest player.
+ * Game ticks instead of wall-clock time keep target switching at a fixed rate when the server lags.
+ * Holds the player's UUID rather than the player itself, so disconnected players are not pinned in memory.
+ */
+public record NearestPlayerTime(UUID playerId, long tick) implements Comparable<NearestPlayerTime> {
     @Override
     public int compareTo(NearestPlayerTime other) {
-        return Long.compare(this.timeStamp, other.timeStamp);
+        return Long.compare(this.tick, other.tick);
     }
 }
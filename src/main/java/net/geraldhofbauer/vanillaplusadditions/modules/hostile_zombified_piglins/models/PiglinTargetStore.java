@@ -0,0 +1,67 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.hostile_zombified_piglins.models;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-level store of the targets of angry zombified piglins, keyed by entity ID.
+ * <p>
+ * Entity IDs are only unique within a running server, and piglins never share them across
+ * levels, so every level gets its own primitive-keyed map. Entries must be evicted when a
+ * piglin leaves its level and whole levels are dropped on unload, which keeps the store
+ * bounded by the number of loaded piglins. The store is only accessed from the server thread,
+ * which ticks all levels, so it needs no synchronization.
+ */
+public final class PiglinTargetStore {
+    private final Map<ResourceKey<Level>, Int2ObjectOpenHashMap<NearestPlayerTime>> levels = new HashMap<>();
+    private int size;
+
+    public @Nullable NearestPlayerTime get(ResourceKey<Level> level, int entityId) {
+        Int2ObjectOpenHashMap<NearestPlayerTime> targets = levels.get(level);
+        return targets != null ? targets.get(entityId) : null;
+    }
+
+    public void put(ResourceKey<Level> level, int entityId, NearestPlayerTime target) {
+        if (levels.computeIfAbsent(level, key -> new Int2ObjectOpenHashMap<>()).put(entityId, target) == null) {
+            size++;
+        }
+    }
+
+    public void remove(ResourceKey<Level> level, int entityId) {
+        Int2ObjectOpenHashMap<NearestPlayerTime> targets = levels.get(level);
+        if (targets != null && targets.remove(entityId) != null) {
+            size--;
+        }
+    }
+
+    /**
+     * Drops all entries of a level, e.g. when it unloads.
+     *
+     * @param level The level's dimension key
+     */
+    public void removeLevel(ResourceKey<Level> level) {
+        Int2ObjectOpenHashMap<NearestPlayerTime> targets = levels.remove(level);
+        if (targets != null) {
+            size -= targets.size();
+        }
+    }
+
+    public void clear() {
+        levels.clear();
+        size = 0;
+    }
+
+    /**
+     * Gets the number of tracked piglins over all levels.
+     *
+     * @return The number of entries
+     */
+    public int size() {
+        return size;
+    }
+}
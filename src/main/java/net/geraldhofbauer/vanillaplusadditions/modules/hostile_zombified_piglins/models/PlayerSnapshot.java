@@ -0,0 +1,180 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.hostile_zombified_piglins.models;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-level, per-tick snapshot of the players zombified piglins may target.
+ * <p>
+ * Rebuilt at most once per server tick from {@link ServerLevel#players()}, keeping only
+ * players that are neither in creative nor in spectator mode. Piglins then query it with a
+ * linear squared-distance scan, which for the usual handful of players is far cheaper than an
+ * AABB entity-section query per piglin. The backing arrays are reused between rebuilds.
+ */
+public final class PlayerSnapshot {
+    private static final int INITIAL_CAPACITY = 8;
+
+    private long tick = Long.MIN_VALUE;
+    private int size;
+    private ServerPlayer[] players = new ServerPlayer[INITIAL_CAPACITY];
+    private double[] xs = new double[INITIAL_CAPACITY];
+    private double[] ys = new double[INITIAL_CAPACITY];
+    private double[] zs = new double[INITIAL_CAPACITY];
+
+    /**
+     * Checks whether the snapshot was taken in an earlier tick than the given one.
+     *
+     * @param currentTick The current server tick
+     * @return true if the snapshot needs to be rebuilt
+     */
+    public boolean isStale(long currentTick) {
+        return tick != currentTick;
+    }
+
+    /**
+     * Rebuilds the snapshot from the level's current player list.
+     *
+     * @param level       The level to snapshot
+     * @param currentTick The current server tick
+     */
+    public void rebuild(ServerLevel level, long currentTick) {
+        List<ServerPlayer> levelPlayers = level.players();
+        int previousSize = size;
+        size = 0;
+        for (ServerPlayer player : levelPlayers) {
+            if (player.isCreative() || player.isSpectator()) {
+                continue;
+            }
+            add(player, player.getX(), player.getY(), player.getZ());
+        }
+        // Drop references to players that are no longer in the snapshot
+        if (previousSize > size) {
+            Arrays.fill(players, size, previousSize, null);
+        }
+        tick = currentTick;
+    }
+
+    /**
+     * Appends a player at the given position.
+     */
+    void add(ServerPlayer player, double x, double y, double z) {
+        if (size == players.length) {
+            grow();
+        }
+        players[size] = player;
+        xs[size] = x;
+        ys[size] = y;
+        zs[size] = z;
+        size++;
+    }
+
+    /**
+     * Drops all player references, e.g. when the level unloads.
+     */
+    public void clear() {
+        Arrays.fill(players, 0, size, null);
+        size = 0;
+        tick = Long.MIN_VALUE;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public ServerPlayer get(int index) {
+        return players[index];
+    }
+
+    /**
+     * Gets the squared distance between a snapshot player and a position.
+     *
+     * @param index The player index
+     * @param x     X coordinate
+     * @param y     Y coordinate
+     * @param z     Z coordinate
+     * @return The squared distance
+     */
+    public double distanceSqr(int index, double x, double y, double z) {
+        double dx = xs[index] - x;
+        double dy = ys[index] - y;
+        double dz = zs[index] - z;
+        return dx * dx + dy * dy + dz * dz;
+    }
+
+    /**
+     * Finds the nearest player within the given squared range of a position.
+     *
+     * @param x       X coordinate
+     * @param y       Y coordinate
+     * @param z       Z coordinate
+     * @param rangeSq The squared range
+     * @return The player index, or -1 if no player is in range
+     */
+    public int findNearestWithin(double x, double y, double z, double rangeSq) {
+        int nearest = -1;
+        double nearestDistanceSq = rangeSq;
+        for (int i = 0; i < size; i++) {
+            double distanceSq = distanceSqr(i, x, y, z);
+            if (distanceSq <= nearestDistanceSq) {
+                nearest = i;
+                nearestDistanceSq = distanceSq;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Selects the player a piglin should target: the nearest player in range, with hysteresis.
+     * While the current target is in range, it keeps counting as the nearest player unless another
+     * player is clearly closer, which stops piglins from flip-flopping between players at similar
+     * distances.
+     *
+     * @param x              X coordinate of the piglin
+     * @param y              Y coordinate of the piglin
+     * @param z              Z coordinate of the piglin
+     * @param rangeSq        The squared detection range
+     * @param currentIndex   The snapshot index of the current target, or -1 if it has none
+     * @param switchFactorSq Squared factor by which another player has to be closer than the current target
+     * @return The player index, or -1 if no player is in range
+     */
+    public int selectTarget(double x, double y, double z, double rangeSq, int currentIndex, double switchFactorSq) {
+        int nearest = findNearestWithin(x, y, z, rangeSq);
+        if (nearest < 0) {
+            return -1;
+        }
+        if (currentIndex >= 0 && currentIndex != nearest) {
+            double currentDistanceSq = distanceSqr(currentIndex, x, y, z);
+            if (currentDistanceSq <= rangeSq && distanceSqr(nearest, x, y, z) >= currentDistanceSq * switchFactorSq) {
+                return currentIndex;
+            }
+        }
+        return nearest;
+    }
+
+    /**
+     * Finds the snapshot index of a player.
+     *
+     * @param playerId The player's UUID
+     * @return The player index, or -1 if the player is not in the snapshot
+     */
+    public int indexOf(UUID playerId) {
+        for (int i = 0; i < size; i++) {
+            if (players[i].getUUID().equals(playerId)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void grow() {
+        int capacity = players.length * 2;
+        players = Arrays.copyOf(players, capacity);
+        xs = Arrays.copyOf(xs, capacity);
+        ys = Arrays.copyOf(ys, capacity);
+        zs = Arrays.copyOf(zs, capacity);
+    }
+}
@@ -0,0 +1,47 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.mob_glow;
+
+import net.minecraft.network.protocol.game.ClientboundSetEntityDataPacket;
+import net.minecraft.network.syncher.EntityDataAccessor;
+import net.minecraft.network.syncher.EntityDataSerializers;
+import net.minecraft.network.syncher.SynchedEntityData;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.entity.Entity;
+
+import java.util.List;
+
+/**
+ * Sends client-side only glow to individual players.
+ * <p>
+ * Instead of applying {@code MobEffects.GLOWING}, this sends a single entity data packet with the
+ * entity's shared flags and the glowing bit set to the chosen players. The server-side entity is
+ * not touched at all: no effect ticking, nothing saved to the chunk and no broadcast to other
+ * players. The glow lasts until it is cleared, the player stops tracking the entity, or the server
+ * syncs the entity's shared flags again (e.g. when it catches fire).
+ */
+final class ClientGlow {
+    /**
+     * Mirrors {@code Entity.DATA_SHARED_FLAGS_ID}, which is the first synched data entry of every entity.
+     */
+    private static final EntityDataAccessor<Byte> DATA_SHARED_FLAGS = new EntityDataAccessor<>(0,
+            EntityDataSerializers.BYTE);
+    private static final int FLAG_GLOWING = 6;
+
+    private ClientGlow() {
+    }
+
+    /**
+     * Shows or hides the glow of an entity for one player.
+     *
+     * @param player  The player to send the packet to
+     * @param entity  The entity
+     * @param glowing true to show the glow; false to restore the entity's real flags
+     */
+    static void send(ServerPlayer player, Entity entity, boolean glowing) {
+        byte flags = entity.getEntityData().get(DATA_SHARED_FLAGS);
+        if (glowing) {
+            flags = (byte) (flags | (1 << FLAG_GLOWING));
+        }
+        player.connection.send(new ClientboundSetEntityDataPacket(entity.getId(),
+                List.of(SynchedEntityData.DataValue.create(DATA_SHARED_FLAGS, flags))));
+    }
+}
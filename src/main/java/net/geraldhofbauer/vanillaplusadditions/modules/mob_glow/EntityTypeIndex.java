@@ -0,0 +1,91 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.mob_glow;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.Level;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Per-level index of loaded living entities by {@link EntityType}.
+ * <p>
+ * Maintained incrementally from entity join and leave events, so looking up all entities of
+ * one type costs O(matching entities) instead of a scan over every loaded entity. Vanilla's
+ * {@code ServerLevel.getEntities(EntityTypeTest, ...)} is no alternative here: it still visits
+ * every entity of the level and only filters them by class. Only accessed from the server thread.
+ */
+final class EntityTypeIndex {
+    private final Map<ResourceKey<Level>, Reference2ObjectOpenHashMap<EntityType<?>, Set<LivingEntity>>> levels =
+            new HashMap<>();
+    private int size;
+
+    void add(ResourceKey<Level> level, LivingEntity entity) {
+        if (levels.computeIfAbsent(level, key -> new Reference2ObjectOpenHashMap<>())
+                .computeIfAbsent(entity.getType(), type -> new ReferenceOpenHashSet<>())
+                .add(entity)) {
+            size++;
+        }
+    }
+
+    void remove(ResourceKey<Level> level, LivingEntity entity) {
+        Reference2ObjectOpenHashMap<EntityType<?>, Set<LivingEntity>> types = levels.get(level);
+        if (types == null) {
+            return;
+        }
+        Set<LivingEntity> entities = types.get(entity.getType());
+        if (entities != null && entities.remove(entity)) {
+            size--;
+            if (entities.isEmpty()) {
+                types.remove(entity.getType());
+            }
+        }
+    }
+
+    /**
+     * Gets all loaded entities of a type in a level.
+     *
+     * @param level The level's dimension key
+     * @param type  The entity type
+     * @return An unmodifiable live view of the matching entities
+     */
+    Collection<LivingEntity> get(ResourceKey<Level> level, EntityType<?> type) {
+        Reference2ObjectOpenHashMap<EntityType<?>, Set<LivingEntity>> types = levels.get(level);
+        Set<LivingEntity> entities = types != null ? types.get(type) : null;
+        return entities != null ? Collections.unmodifiableSet(entities) : Collections.emptySet();
+    }
+
+    /**
+     * Drops all entries of a level, e.g. when it unloads.
+     *
+     * @param level The level's dimension key
+     */
+    void removeLevel(ResourceKey<Level> level) {
+        Reference2ObjectOpenHashMap<EntityType<?>, Set<LivingEntity>> types = levels.remove(level);
+        if (types != null) {
+            for (Set<LivingEntity> entities : types.values()) {
+                size -= entities.size();
+            }
+        }
+    }
+
+    void clear() {
+        levels.clear();
+        size = 0;
+    }
+
+    /**
+     * Gets the number of indexed entities over all levels.
+     *
+     * @return The number of indexed entities
+     */
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,85 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.mob_glow;
+
+import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.network.chat.Component;
+
+/**
+ * A unit of /mobglow work that is processed across several server ticks.
+ * <p>
+ * Commands only collect the entities to work on and enqueue a job. The module's tick handler
+ * then runs queued jobs until the per-tick time budget is used up, so glowing or clearing a
+ * large number of mobs never lands in a single tick. Jobs that take longer than a second report
+ * their progress to the command source.
+ */
+abstract class GlowJob {
+    private static final int PROGRESS_INTERVAL_TICKS = 20;
+
+    protected final CommandSourceStack source;
+    private final int total;
+    private int processed;
+    private long nextProgressTick = -1;
+
+    protected GlowJob(CommandSourceStack source, int total) {
+        this.source = source;
+        this.total = total;
+    }
+
+    /**
+     * Processes items until the job is done or the deadline has passed.
+     *
+     * @param deadlineNanos The {@link System#nanoTime()} value at which to stop
+     * @param currentTick   The current server tick, used for progress reports
+     * @return true if the job is finished
+     */
+    final boolean run(long deadlineNanos, long currentTick) {
+        while (processed < total) {
+            process(processed++);
+            if (System.nanoTime() >= deadlineNanos) {
+                break;
+            }
+        }
+
+        if (processed >= total) {
+            complete();
+            return true;
+        }
+
+        if (nextProgressTick < 0) {
+            nextProgressTick = currentTick + PROGRESS_INTERVAL_TICKS;
+        } else if (currentTick >= nextProgressTick) {
+            nextProgressTick = currentTick + PROGRESS_INTERVAL_TICKS;
+            source.sendSuccess(() -> Component.literal(describe() + ": " + processed + "/" + total + " entities")
+                    .withStyle(ChatFormatting.GRAY), false);
+        }
+        return false;
+    }
+
+    /**
+     * Gets the number of items this job works on.
+     *
+     * @return The total number of items
+     */
+    final int getTotal() {
+        return total;
+    }
+
+    /**
+     * Processes a single item.
+     *
+     * @param index The item index, from 0 to {@link #getTotal()} - 1
+     */
+    protected abstract void process(int index);
+
+    /**
+     * Called once after the last item has been processed. Sends the result to the command source.
+     */
+    protected abstract void complete();
+
+    /**
+     * Describes the job for progress messages, e.g. "Applying glow to minecraft:zombie".
+     *
+     * @return The job description
+     */
+    protected abstract String describe();
+}
@@ -0,0 +1,267 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.mob_glow;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.level.Level;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Tracks the mobs /mobglow has applied the glow effect to in one level.
+ * <p>
+ * Timed glows are kept in a hierarchical timing wheel keyed by their expiry tick: four levels of
+ * 256, 64, 64 and 64 slots, each slot of a level spanning one full turn of the level below.
+ * Advancing the wheel by one tick only looks at a single slot of the lowest level, and entries
+ * are cascaded to a lower level once their slot comes up, so expiring, adding and removing an
+ * entry are all amortized O(1). Infinite glows are not put into the wheel at all.
+ * A per-type sub-index serves clearing a single entity type without visiting other entries.
+ * Only accessed from the server thread.
+ */
+final class GlowTracker {
+    static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    private static final int[] LEVEL_BITS = {8, 6, 6, 6};
+    private static final int LEVELS = LEVEL_BITS.length;
+    // Entries expiring further out than the wheel spans are parked in the last slot and re-cascaded
+    private static final long MAX_DELTA = (1L << (8 + 6 + 6 + 6)) - 1;
+
+    private final Entry[][] wheel = new Entry[LEVELS][];
+    private final int[] shifts = new int[LEVELS];
+    private final Map<UUID, Entry> entries = new HashMap<>();
+    private final Reference2ObjectOpenHashMap<EntityType<?>, Set<Entry>> byType = new Reference2ObjectOpenHashMap<>();
+    private final ResourceKey<Level> level;
+    private boolean started;
+    private long currentTick;
+
+    GlowTracker(ResourceKey<Level> level) {
+        this.level = level;
+        int shift = 0;
+        for (int level = 0; level < LEVELS; level++) {
+            Entry[] slots = new Entry[1 << LEVEL_BITS[level]];
+            for (int i = 0; i < slots.length; i++) {
+                slots[i] = Entry.sentinel();
+            }
+            wheel[level] = slots;
+            shifts[level] = shift;
+            shift += LEVEL_BITS[level];
+        }
+    }
+
+    /**
+     * Starts or updates tracking of a glowing mob.
+     *
+     * @param id         The mob's UUID
+     * @param type       The mob's entity type
+     * @param now        The current server tick
+     * @param expiryTick The tick at which the glow ends, or {@link #NO_EXPIRY}
+     */
+    void track(UUID id, EntityType<?> type, long now, long expiryTick) {
+        start(now);
+        untrack(id);
+
+        Entry entry = new Entry(id, type, expiryTick);
+        entries.put(id, entry);
+        byType.computeIfAbsent(type, key -> new ReferenceOpenHashSet<>()).add(entry);
+        if (expiryTick != NO_EXPIRY) {
+            schedule(entry, currentTick + 1);
+        }
+    }
+
+    /**
+     * Stops tracking a mob.
+     *
+     * @param id The mob's UUID
+     * @return true if the mob was tracked
+     */
+    boolean untrack(UUID id) {
+        Entry entry = entries.remove(id);
+        if (entry == null) {
+            return false;
+        }
+        entry.unlink();
+        Set<Entry> ofType = byType.get(entry.type);
+        ofType.remove(entry);
+        if (ofType.isEmpty()) {
+            byType.remove(entry.type);
+        }
+        return true;
+    }
+
+    /**
+     * Gets the UUIDs of all tracked mobs, or of all tracked mobs of one type.
+     *
+     * @param type The entity type, or null for all types
+     * @return A snapshot of the matching UUIDs
+     */
+    UUID[] getTracked(@Nullable EntityType<?> type) {
+        if (type == null) {
+            return entries.keySet().toArray(new UUID[0]);
+        }
+        Set<Entry> ofType = byType.get(type);
+        if (ofType == null) {
+            return new UUID[0];
+        }
+        UUID[] ids = new UUID[ofType.size()];
+        int i = 0;
+        for (Entry entry : ofType) {
+            ids[i++] = entry.id;
+        }
+        return ids;
+    }
+
+    /**
+     * Advances the wheel to the given tick and stops tracking every mob whose glow expired.
+     *
+     * @param tick     The current server tick
+     * @param listener Called for every expired mob, after it was removed from tracking
+     */
+    void advance(long tick, ExpiryListener listener) {
+        if (!started) {
+            start(tick);
+            return;
+        }
+
+        while (currentTick < tick) {
+            currentTick++;
+            cascade(currentTick);
+
+            Entry slot = wheel[0][(int) (currentTick & (wheel[0].length - 1))];
+            while (slot.next != slot) {
+                Entry entry = slot.next;
+                entry.unlink();
+                if (entry.expiryTick > currentTick) {
+                    schedule(entry, currentTick + 1); // Parked beyond the wheel's range
+                    continue;
+                }
+                untrack(entry.id);
+                listener.onExpired(level, entry.id, entry.type);
+            }
+        }
+    }
+
+    ResourceKey<Level> getLevel() {
+        return level;
+    }
+
+    boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    void clear() {
+        for (Entry[] slots : wheel) {
+            for (Entry slot : slots) {
+                slot.next = slot;
+                slot.prev = slot;
+            }
+        }
+        entries.clear();
+        byType.clear();
+        started = false;
+    }
+
+    private void start(long tick) {
+        if (!started) {
+            currentTick = tick;
+            started = true;
+        }
+    }
+
+    /**
+     * Moves the entries of higher-level slots that start at this tick down to lower levels.
+     * Entries due at this tick go into its lowest-level slot, which is expired right after.
+     */
+    private void cascade(long tick) {
+        for (int level = 1; level < LEVELS; level++) {
+            // Only cascade if every level below has just wrapped around
+            if ((tick & ((1L << shifts[level]) - 1)) != 0) {
+                return;
+            }
+            Entry[] slots = wheel[level];
+            Entry slot = slots[(int) ((tick >>> shifts[level]) & (slots.length - 1))];
+            Entry entry = slot.next;
+            slot.next = slot;
+            slot.prev = slot;
+            while (entry != slot) {
+                Entry next = entry.next;
+                entry.next = null;
+                entry.prev = null;
+                schedule(entry, tick);
+                entry = next;
+            }
+        }
+    }
+
+    /**
+     * Puts an entry into the slot of its expiry tick, but no earlier than the given tick.
+     */
+    private void schedule(Entry entry, long earliestTick) {
+        long target = Math.max(entry.expiryTick, earliestTick);
+        long delta = Math.min(target - currentTick, MAX_DELTA);
+        target = currentTick + delta;
+
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= 1L << shifts[level + 1]) {
+            level++;
+        }
+        Entry[] slots = wheel[level];
+        slots[(int) ((target >>> shifts[level]) & (slots.length - 1))].append(entry);
+    }
+
+    /**
+     * Callback for mobs whose glow expired.
+     */
+    @FunctionalInterface
+    interface ExpiryListener {
+        void onExpired(ResourceKey<Level> level, UUID id, EntityType<?> type);
+    }
+
+    /**
+     * A tracked mob, doubling as a node of the intrusive list of its wheel slot.
+     */
+    private static final class Entry {
+        private final UUID id;
+        private final EntityType<?> type;
+        private final long expiryTick;
+        private Entry prev;
+        private Entry next;
+
+        private Entry(UUID id, EntityType<?> type, long expiryTick) {
+            this.id = id;
+            this.type = type;
+            this.expiryTick = expiryTick;
+        }
+
+        private static Entry sentinel() {
+            Entry sentinel = new Entry(null, null, NO_EXPIRY);
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            return sentinel;
+        }
+
+        private void append(Entry entry) {
+            entry.prev = prev;
+            entry.next = this;
+            prev.next = entry;
+            prev = entry;
+        }
+
+        private void unlink() {
+            if (next != null) {
+                prev.next = next;
+                next.prev = prev;
+                prev = null;
+                next = null;
+            }
+        }
+    }
+}
@@ -1,36 +1,55 @@
 package net.geraldhofbauer.vanillaplusadditions.modules.mob_glow;
 
 import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
 import com.mojang.brigadier.arguments.StringArgumentType;
 import com.mojang.brigadier.context.CommandContext;
 import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.suggestion.SuggestionProvider;
+import it.unimi.dsi.fastutil.ints.Int2ReferenceMap;
+import it.unimi.dsi.fastutil.ints.Int2ReferenceOpenHashMap;
 import net.geraldhofbauer.vanillaplusadditions.core.AbstractModule;
+import net.geraldhofbauer.vanillaplusadditions.core.HandlerTimer;
 import net.geraldhofbauer.vanillaplusadditions.modules.mob_glow.config.MobGlowConfig;
 import net.minecraft.ChatFormatting;
 import net.minecraft.commands.CommandSourceStack;
 import net.minecraft.commands.Commands;
 import net.minecraft.commands.SharedSuggestionProvider;
+import net.minecraft.commands.arguments.EntityArgument;
 import net.minecraft.commands.arguments.ResourceLocationArgument;
 import net.minecraft.core.registries.BuiltInRegistries;
 import net.minecraft.network.chat.Component;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffects;
 import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.EntityType;
 import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.level.Level;
+import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.SubscribeEvent;
-import net.neoforged.neoforge.common.NeoForge;
-import net.neoforged.neoforge.event.RegisterCommandsEvent;
+import net.neoforged.neoforge.event.entity.EntityJoinLevelEvent;
+import net.neoforged.neoforge.event.entity.EntityLeaveLevelEvent;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
+import net.neoforged.neoforge.server.ServerLifecycleHooks;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
-import java.util.Set;
+import java.util.Queue;
 import java.util.UUID;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Mob Glow Module
@@ -43,13 +62,29 @@ import java.util.concurrent.atomic.AtomicInteger;
  * - /mobglow command with entity type and duration parameters
  * - OP-only command (configurable)
  * - Support for infinite duration or specific time limits
- * - Configurable limits on affected mobs and duration
+ * - Configurable limits on affected mobs and duration (nearest mobs first)
+ * - Optional radius around the command source
+ * - Client-side only glow for chosen players, without touching the mobs (/mobglow <type> client)
  * - Auto-completion for entity types
  */
 public class MobGlowModule extends AbstractModule<MobGlowModule, MobGlowConfig> {
 
     // Track mobs that have glow effect applied by this command
-    private final Map<UUID, EntityType<?>> trackedGlowingMobs = new HashMap<>();
+    // Tracked per level, so lookups only touch entities that can exist in that level
+    private final Map<ResourceKey<Level>, GlowTracker> trackedGlowingMobs = new HashMap<>();
+    private final GlowTracker.ExpiryListener glowExpiryListener = this::onGlowExpired;
+
+    // Loaded living entities per level and type, so the command only visits matching entities
+    private final EntityTypeIndex entityTypeIndex = new EntityTypeIndex();
+
+    // Client-side only glows per player UUID: entity ID -> entity type
+    private final Map<UUID, Int2ReferenceOpenHashMap<EntityType<?>>> clientGlows = new HashMap<>();
+
+    // Queued /mobglow work, drained at the end of each server tick within the time budget
+    private final Queue<GlowJob> pendingJobs = new ArrayDeque<>();
+
+    // Timer for /vpamodules timings
+    private final HandlerTimer serverTickTimer = createHandlerTimer("onServerTick");
     
     // Suggestion provider for entity types
     private static final SuggestionProvider<CommandSourceStack> ENTITY_TYPE_SUGGESTIONS = (context, builder) -> {
@@ -71,9 +106,6 @@ public class MobGlowModule extends AbstractModule<MobGlowModule, MobGlowConfig>
 
     @Override
     protected void onInitialize() {
-        // Register event listeners for this module
-        NeoForge.EVENT_BUS.register(this);
-
         getLogger().info("Mob Glow module initialized - /mobglow command ready!");
     }
 
@@ -85,24 +117,184 @@ public class MobGlowModule extends AbstractModule<MobGlowModule, MobGlowConfig>
     }
 
     /**
-     * Register the /mobglow command when commands are being registered
+     * Adds living entities to the type index when they are loaded or spawned.
+     * Entities loaded while the module was disabled are added by {@link #onEnable()}.
+     * Runs last, so joins cancelled by other listeners are never indexed.
      */
-    @SubscribeEvent
-    public void onRegisterCommands(RegisterCommandsEvent event) {
-        if (!isModuleEnabled()) {
+    @SubscribeEvent(priority = EventPriority.LOWEST)
+    public void onEntityJoinLevel(EntityJoinLevelEvent event) {
+        if (event.isCanceled()) {
             return;
         }
+        if (event.getEntity() instanceof LivingEntity livingEntity
+                && event.getEntity().getType() != EntityType.PLAYER
+                && event.getLevel() instanceof ServerLevel serverLevel) {
+            entityTypeIndex.add(serverLevel.dimension(), livingEntity);
+        }
+    }
+
+    /**
+     * Removes living entities from the type index, the glow trackers and the client-side glows
+     * when they die, despawn or are unloaded.
+     */
+    @SubscribeEvent
+    public void onEntityLeaveLevel(EntityLeaveLevelEvent event) {
+        if (event.getEntity() instanceof LivingEntity livingEntity
+                && event.getLevel() instanceof ServerLevel serverLevel) {
+            entityTypeIndex.remove(serverLevel.dimension(), livingEntity);
+            // Unloaded or dead mobs can't be cleared anymore
+            GlowTracker tracker = trackedGlowingMobs.get(serverLevel.dimension());
+            if (tracker != null) {
+                tracker.untrack(livingEntity.getUUID());
+            }
+            if (!clientGlows.isEmpty()) {
+                removeClientGlows(livingEntity.getId());
+            }
+        }
+    }
+
+    /**
+     * Forgets the client-side glows of an entity that left its level, so they are neither kept
+     * for the rest of the session nor restored later. Entity IDs are unique per server.
+     */
+    private void removeClientGlows(int entityId) {
+        Iterator<Int2ReferenceOpenHashMap<EntityType<?>>> iterator = clientGlows.values().iterator();
+        while (iterator.hasNext()) {
+            Int2ReferenceOpenHashMap<EntityType<?>> glows = iterator.next();
+            if (glows.remove(entityId) != null && glows.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    @SubscribeEvent
+    public void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel serverLevel) {
+            entityTypeIndex.removeLevel(serverLevel.dimension());
+            trackedGlowingMobs.remove(serverLevel.dimension());
+        }
+    }
+
+    @SubscribeEvent
+    public void onServerStopped(ServerStoppedEvent event) {
+        clearState();
+    }
+
+    /**
+     * Rebuilds the type index from the loaded entities, since join events were not received
+     * while the module was disabled.
+     */
+    @Override
+    protected void onEnable() {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null) {
+            return; // Filled by join events once a server runs
+        }
+        for (ServerLevel serverLevel : server.getAllLevels()) {
+            for (Entity entity : serverLevel.getAllEntities()) {
+                if (entity instanceof LivingEntity livingEntity && entity.getType() != EntityType.PLAYER) {
+                    entityTypeIndex.add(serverLevel.dimension(), livingEntity);
+                }
+            }
+        }
+        if (getConfig().shouldDebugLog()) {
+            getLogger().debug("Indexed {} loaded entities after enabling", entityTypeIndex.size());
+        }
+    }
+
+    /**
+     * Removes the glows applied by this module right away, since tracking stops with the module,
+     * and releases all tracking state and queued work.
+     */
+    @Override
+    protected void onDisable() {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server != null) {
+            for (GlowTracker tracker : trackedGlowingMobs.values()) {
+                ServerLevel serverLevel = server.getLevel(tracker.getLevel());
+                if (serverLevel == null) {
+                    continue;
+                }
+                for (UUID mobUUID : tracker.getTracked(null)) {
+                    if (serverLevel.getEntity(mobUUID) instanceof LivingEntity livingEntity) {
+                        livingEntity.removeEffect(MobEffects.GLOWING);
+                    }
+                }
+            }
+            for (Map.Entry<UUID, Int2ReferenceOpenHashMap<EntityType<?>>> entry : clientGlows.entrySet()) {
+                ServerPlayer player = server.getPlayerList().getPlayer(entry.getKey());
+                if (player == null) {
+                    continue;
+                }
+                for (int entityId : entry.getValue().keySet()) {
+                    Entity entity = player.serverLevel().getEntity(entityId);
+                    if (entity != null) {
+                        ClientGlow.send(player, entity, false);
+                    }
+                }
+            }
+        }
+        clearState();
+    }
+
+    /**
+     * Gets the number of living entities in the type index, over all levels.
+     * Should stay bounded by the number of loaded living entities.
+     *
+     * @return The number of indexed entities
+     */
+    public int getIndexedEntityCount() {
+        return entityTypeIndex.size();
+    }
+
+    /**
+     * Gets the number of mobs tracked with a glow applied by /mobglow, over all levels.
+     *
+     * @return The number of tracked glowing mobs
+     */
+    public int getGlowingMobCount() {
+        int count = 0;
+        for (GlowTracker tracker : trackedGlowingMobs.values()) {
+            count += tracker.size();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the number of queued /mobglow jobs that are not finished yet.
+     *
+     * @return The number of pending jobs
+     */
+    public int getPendingJobCount() {
+        return pendingJobs.size();
+    }
 
-        CommandDispatcher<CommandSourceStack> dispatcher = event.getDispatcher();
+    private void clearState() {
+        entityTypeIndex.clear();
+        trackedGlowingMobs.clear();
+        clientGlows.clear();
+        pendingJobs.clear();
+    }
 
+    @SubscribeEvent
+    public void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        // The client forgets all entities on logout, so there is nothing left to clear
+        clientGlows.remove(event.getEntity().getUUID());
+    }
+
+    /**
+     * Register the /mobglow command when commands are being registered
+     */
+    @Override
+    public void registerCommands(CommandDispatcher<CommandSourceStack> dispatcher) {
         if (getConfig().shouldDebugLog()) {
             getLogger().debug("Registering /mobglow command");
         }
 
         dispatcher.register(
                 Commands.literal("mobglow")
-                        .requires(source -> !getConfig().getRequireOpValue()
-                                || source.hasPermission(2)) // OP level 2 required by default
+                        .requires(source -> isModuleEnabled() && (!getConfig().getRequireOpValue()
+                                || source.hasPermission(2))) // OP level 2 required by default
                         .then(Commands.literal("all")
                                 .then(Commands.literal("clear")
                                         .executes(this::executeClearAllGlow)
@@ -114,8 +306,17 @@ public class MobGlowModule extends AbstractModule<MobGlowModule, MobGlowConfig>
                                 .then(Commands.literal("clear")
                                         .executes(this::executeClearEntityTypeGlow)
                                 )
+                                .then(Commands.literal("client")
+                                        .executes(this::executeClientGlowSelf)
+                                        .then(Commands.argument("targets", EntityArgument.players())
+                                                .executes(this::executeClientGlowTargets)
+                                        )
+                                )
                                 .then(Commands.argument("duration", StringArgumentType.word())
                                         .executes(this::executeMobGlowWithDuration)
+                                        .then(Commands.argument("radius", IntegerArgumentType.integer(1))
+                                                .executes(this::executeMobGlowWithRadius)
+                                        )
                                 )
                         )
         );
@@ -130,7 +331,7 @@ public class MobGlowModule extends AbstractModule<MobGlowModule, MobGlowConfig>
      */
     private int executeMobGlowInfinite(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
         ResourceLocation entityTypeId = ResourceLocationArgument.getId(context, "entity_type");
-        return executeMobGlow(context, entityTypeId, "infinite");
+        return executeMobGlow(context, entityTypeId, "infinite", 0);
     }
 
     /**
@@ -139,9 +340,35 @@ public class MobGlowModule extends AbstractModule<MobGlowModule, MobGlowConfig>
     private int executeMobGlowWithDuration(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
         ResourceLocation entityTypeId = ResourceLocationArgument.getId(context, "entity_type");
         String durationStr = StringArgumentType.getString(context, "duration");
-        return executeMobGlow(context, entityTypeId, durationStr);
+        return executeMobGlow(context, entityTypeId, durationStr, 0);
+    }
+
+    /**
+     * Execute mobglow command with specified duration, limited to a radius around the source
+     */
+    private int executeMobGlowWithRadius(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        ResourceLocation entityTypeId = ResourceLocationArgument.getId(context, "entity_type");
+        String durationStr = StringArgumentType.getString(context, "duration");
+        int radius = IntegerArgumentType.getInteger(context, "radius");
+        return executeMobGlow(context, entityTypeId, durationStr, radius);
     }
     
+    /**
+     * Execute client-side glow command for the executing player
+     */
+    private int executeClientGlowSelf(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        ResourceLocation entityTypeId = ResourceLocationArgument.getId(context, "entity_type");
+        return executeClientGlow(context, entityTypeId, List.of(context.getSource().getPlayerOrException()));
+    }
+
+    /**
+     * Execute client-side glow command for the given players
+     */
+    private int executeClientGlowTargets(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        ResourceLocation entityTypeId = ResourceLocationArgument.getId(context, "entity_type");
+        return executeClientGlow(context, entityTypeId, EntityArgument.getPlayers(context, "targets"));
+    }
+
     /**
      * Execute clear all glow effects command
      */
@@ -152,17 +379,7 @@ public class MobGlowModule extends AbstractModule<MobGlowModule, MobGlowConfig>
             getLogger().debug("Executing /mobglow all clear command");
         }
         
-        int clearedCount = clearGlowEffects(source, null);
-        
-        if (clearedCount == 0) {
-            source.sendSuccess(() -> Component.literal("No glowing entities found to clear")
-                    .withStyle(ChatFormatting.YELLOW), true);
-        } else {
-            source.sendSuccess(() -> Component.literal("Cleared glow effect from " + clearedCount + " entities")
-                    .withStyle(ChatFormatting.GREEN), true);
-        }
-        
-        return clearedCount;
+        return clearGlowEffects(source, null, null);
     }
     
     /**
@@ -185,26 +402,16 @@ public class MobGlowModule extends AbstractModule<MobGlowModule, MobGlowConfig>
             getLogger().debug("Executing /mobglow {} clear command", entityTypeId);
         }
         
-        int clearedCount = clearGlowEffects(source, entityType);
-        
-        if (clearedCount == 0) {
-            source.sendSuccess(() -> Component.literal("No glowing " + entityTypeId
-                            + " entities found to clear")
-                    .withStyle(ChatFormatting.YELLOW), true);
-        } else {
-            source.sendSuccess(() -> Component.literal("Cleared glow effect from " + clearedCount
-                            + " " + entityTypeId + " entities")
-                    .withStyle(ChatFormatting.GREEN), true);
-        }
-        
-        return clearedCount;
+        return clearGlowEffects(source, entityType, entityTypeId);
     }
 
     /**
      * Main execution logic for the mobglow command
+     *
+     * @param radius Only glow entities within this many blocks of the source, or 0 for no radius
      */
     private int executeMobGlow(CommandContext<CommandSourceStack> context, ResourceLocation entityTypeId,
-            String durationStr) throws CommandSyntaxException {
+            String durationStr, int radius) throws CommandSyntaxException {
         CommandSourceStack source = context.getSource();
         
         // Validate entity type
@@ -259,143 +466,475 @@ public class MobGlowModule extends AbstractModule<MobGlowModule, MobGlowConfig>
                     entityTypeId, durationStr, durationTicks, isInfinite);
         }
 
-        // Apply glow effect to all matching entities
-        AtomicInteger changedCount = new AtomicInteger(0);
-        AtomicInteger totalWithEffectCount = new AtomicInteger(0);
-        int maxMobs = getConfig().getMaxMobsPerCommandValue();
-        
-        if (source.getLevel() instanceof ServerLevel serverLevel) {
-            serverLevel.getAllEntities().forEach(entity -> {
-                if (entity.getType() == entityType && entity instanceof LivingEntity livingEntity) {
-                    boolean hadGlowEffect = livingEntity.hasEffect(MobEffects.GLOWING);
-                    
-                    // Apply glowing effect
-                    MobEffectInstance glowEffect = new MobEffectInstance(MobEffects.GLOWING,
-                            durationTicks, 0, false, true);
-                    livingEntity.addEffect(glowEffect);
-                    
-                    // Track this mob
-                    trackedGlowingMobs.put(entity.getUUID(), entityType);
-                    totalWithEffectCount.incrementAndGet();
-                    
-                    // Count as changed if it didn't have the effect before or we're within the limit
-                    if (!hadGlowEffect && (maxMobs == 0 || changedCount.get() < maxMobs)) {
-                        changedCount.incrementAndGet();
-                        
-                        if (getConfig().shouldDebugLog()) {
-                            getLogger().debug("Applied glow effect to {} at {}",
-                                    entityType.getDescriptionId(), entity.blockPosition());
-                        }
-                    }
-                }
-            });
+        if (!(source.getLevel() instanceof ServerLevel serverLevel)) {
+            return 0;
         }
 
-        // Send result message
-        if (totalWithEffectCount.get() == 0) {
+        // Select the matching entities now, apply the effect over the next ticks.
+        // max_mobs_per_command caps the work done: only the nearest entities are selected.
+        double maxDistanceSq = radius > 0 ? (double) radius * radius : Double.MAX_VALUE;
+        LivingEntity[] matchingEntities = NearestEntitySelector.select(
+                entityTypeIndex.get(serverLevel.dimension(), entityType), source.getPosition(),
+                maxDistanceSq, getConfig().getMaxMobsPerCommandValue());
+        if (matchingEntities.length == 0) {
             source.sendSuccess(() -> Component.literal("No " + entityTypeId
                             + " entities found to apply glow effect")
                     .withStyle(ChatFormatting.YELLOW), true);
-        } else {
+            return 0;
+        }
+
+        enqueueJob(new ApplyGlowJob(source, matchingEntities, entityType, entityTypeId, durationTicks, isInfinite));
+        return matchingEntities.length;
+    }
+
+    /**
+     * Makes all entities of a type glow for the given players only, without applying an effect.
+     *
+     * @param audience The players that should see the glow
+     */
+    private int executeClientGlow(CommandContext<CommandSourceStack> context, ResourceLocation entityTypeId,
+                                  Collection<ServerPlayer> audience) {
+        CommandSourceStack source = context.getSource();
+
+        // Validate entity type
+        if (!BuiltInRegistries.ENTITY_TYPE.containsKey(entityTypeId)) {
+            source.sendFailure(Component.literal("Unknown entity type: " + entityTypeId)
+                    .withStyle(ChatFormatting.RED));
+            return 0;
+        }
+
+        EntityType<?> entityType = BuiltInRegistries.ENTITY_TYPE.get(entityTypeId);
+        if (entityType == EntityType.PLAYER) {
+            source.sendFailure(Component.literal("Cannot apply glow effect to players")
+                    .withStyle(ChatFormatting.RED));
+            return 0;
+        }
+
+        if (!(source.getLevel() instanceof ServerLevel serverLevel)) {
+            return 0;
+        }
+
+        if (getConfig().shouldDebugLog()) {
+            getLogger().debug("Executing /mobglow {} client command for {} players", entityTypeId, audience.size());
+        }
+
+        // Same cap as the server-side glow: only the nearest max_mobs_per_command entities are selected
+        LivingEntity[] matchingEntities = NearestEntitySelector.select(
+                entityTypeIndex.get(serverLevel.dimension(), entityType), source.getPosition(),
+                Double.MAX_VALUE, getConfig().getMaxMobsPerCommandValue());
+        if (matchingEntities.length == 0) {
+            source.sendSuccess(() -> Component.literal("No " + entityTypeId
+                            + " entities found to apply glow effect")
+                    .withStyle(ChatFormatting.YELLOW), false);
+            return 0;
+        }
+
+        enqueueJob(new ClientGlowJob(source, matchingEntities, audience.toArray(new ServerPlayer[0]),
+                entityType, entityTypeId));
+        return matchingEntities.length;
+    }
+
+    /**
+     * Clears glow effects from tracked entities
+     *
+     * @param source The command source
+     * @param entityType The specific entity type to clear, or null for all types
+     * @param entityTypeId The ID of the entity type for messages, or null for all types
+     * @return The number of tracked entities queued for clearing
+     */
+    private int clearGlowEffects(CommandSourceStack source, @Nullable EntityType<?> entityType,
+                                 @Nullable ResourceLocation entityTypeId) {
+        // Fan out over all levels; served from the per-type sub-index if a type is given
+        List<ServerLevel> levels = new ArrayList<>();
+        List<UUID> mobsToClear = new ArrayList<>();
+        for (GlowTracker tracker : trackedGlowingMobs.values()) {
+            ServerLevel serverLevel = source.getServer().getLevel(tracker.getLevel());
+            if (serverLevel == null) {
+                continue;
+            }
+            for (UUID mobUUID : tracker.getTracked(entityType)) {
+                levels.add(serverLevel);
+                mobsToClear.add(mobUUID);
+            }
+        }
+
+        enqueueJob(new ClearGlowJob(source, levels.toArray(new ServerLevel[0]), mobsToClear.toArray(new UUID[0]),
+                entityTypeId));
+        return mobsToClear.size() + clearClientGlows(source, entityType);
+    }
+
+    /**
+     * Queues hiding the client-side glows of all players again.
+     *
+     * @param entityType The specific entity type to clear, or null for all types
+     * @return The number of client-side glows queued for clearing
+     */
+    private int clearClientGlows(CommandSourceStack source, @Nullable EntityType<?> entityType) {
+        List<ServerPlayer> players = new ArrayList<>();
+        List<Integer> entityIds = new ArrayList<>();
+        Iterator<Map.Entry<UUID, Int2ReferenceOpenHashMap<EntityType<?>>>> iterator =
+                clientGlows.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Int2ReferenceOpenHashMap<EntityType<?>>> entry = iterator.next();
+            ServerPlayer player = source.getServer().getPlayerList().getPlayer(entry.getKey());
+            if (player == null) {
+                iterator.remove();
+                continue;
+            }
+
+            Iterator<Int2ReferenceMap.Entry<EntityType<?>>> glows = entry.getValue().int2ReferenceEntrySet()
+                    .iterator();
+            while (glows.hasNext()) {
+                Int2ReferenceMap.Entry<EntityType<?>> glow = glows.next();
+                if (entityType == null || glow.getValue() == entityType) {
+                    players.add(player);
+                    entityIds.add(glow.getIntKey());
+                    glows.remove();
+                }
+            }
+            if (entry.getValue().isEmpty()) {
+                iterator.remove();
+            }
+        }
+
+        if (!players.isEmpty()) {
+            enqueueJob(new ClearClientGlowJob(source, players.toArray(new ServerPlayer[0]),
+                    entityIds.stream().mapToInt(Integer::intValue).toArray()));
+        }
+        return players.size();
+    }
+
+    private void enqueueJob(GlowJob job) {
+        pendingJobs.add(job);
+        if (getConfig().shouldDebugLog()) {
+            getLogger().debug("Queued mob glow job '{}' with {} entities ({} jobs pending)",
+                    job.describe(), job.getTotal(), pendingJobs.size());
+        }
+    }
+
+    /**
+     * Expires timed glows and runs queued glow jobs until the configured per-tick time budget is used up.
+     */
+    @SubscribeEvent
+    public void onServerTick(ServerTickEvent.Post event) {
+        long start = serverTickTimer.start();
+        handleServerTick(event);
+        serverTickTimer.stop(start);
+    }
+
+    private void handleServerTick(ServerTickEvent.Post event) {
+        int currentServerTick = event.getServer().getTickCount();
+        for (GlowTracker tracker : trackedGlowingMobs.values()) {
+            tracker.advance(currentServerTick, glowExpiryListener);
+        }
+
+        if (pendingJobs.isEmpty()) {
+            return;
+        }
+
+        long budgetNanos = getConfig().getTickBudgetMicrosValue() * 1000L;
+        long deadline = budgetNanos > 0 ? System.nanoTime() + budgetNanos : Long.MAX_VALUE;
+        long currentTick = event.getServer().getTickCount();
+        while (!pendingJobs.isEmpty() && System.nanoTime() < deadline) {
+            if (!pendingJobs.peek().run(deadline, currentTick)) {
+                break; // Budget used up, continue next tick
+            }
+            pendingJobs.poll();
+        }
+    }
+
+    /**
+     * Called by the tracker when a timed glow should have ended. The effect only counts down while
+     * the mob ticks, so if it is still running the mob is tracked again with its remaining duration.
+     */
+    private void onGlowExpired(ResourceKey<Level> levelKey, UUID id, EntityType<?> type) {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        ServerLevel serverLevel = server != null ? server.getLevel(levelKey) : null;
+        if (serverLevel == null
+                || !(serverLevel.getEntity(id) instanceof LivingEntity livingEntity)) {
+            return;
+        }
+
+        MobEffectInstance glowEffect = livingEntity.getEffect(MobEffects.GLOWING);
+        if (glowEffect != null && !glowEffect.endsWithin(0)) {
+            long expiryTick = glowEffect.isInfiniteDuration() ? GlowTracker.NO_EXPIRY
+                    : (long) server.getTickCount() + glowEffect.getDuration();
+            getGlowTracker(levelKey).track(id, type, server.getTickCount(), expiryTick);
+        } else if (getConfig().shouldDebugLog()) {
+            getLogger().debug("Glow effect of {} {} expired", type.getDescriptionId(), id);
+        }
+    }
+
+    private GlowTracker getGlowTracker(ResourceKey<Level> level) {
+        return trackedGlowingMobs.computeIfAbsent(level, GlowTracker::new);
+    }
+
+    /**
+     * Applies the glow effect to a fixed set of entities.
+     */
+    private final class ApplyGlowJob extends GlowJob {
+        private final LivingEntity[] entities;
+        private final EntityType<?> entityType;
+        private final ResourceLocation entityTypeId;
+        private final int durationTicks;
+        private final boolean isInfinite;
+        private int changedCount;
+        private int totalWithEffectCount;
+
+        private ApplyGlowJob(CommandSourceStack source, LivingEntity[] entities, EntityType<?> entityType,
+                             ResourceLocation entityTypeId, int durationTicks, boolean isInfinite) {
+            super(source, entities.length);
+            this.entities = entities;
+            this.entityType = entityType;
+            this.entityTypeId = entityTypeId;
+            this.durationTicks = durationTicks;
+            this.isInfinite = isInfinite;
+        }
+
+        @Override
+        protected void process(int index) {
+            LivingEntity livingEntity = entities[index];
+            entities[index] = null; // Don't keep processed entities alive
+            if (!livingEntity.isAlive()) {
+                return; // Died or was unloaded since the command ran
+            }
+
+            boolean hadGlowEffect = livingEntity.hasEffect(MobEffects.GLOWING);
+
+            // Apply glowing effect
+            MobEffectInstance glowEffect = new MobEffectInstance(MobEffects.GLOWING,
+                    durationTicks, 0, false, true);
+            livingEntity.addEffect(glowEffect);
+
+            // Track this mob until its glow expires
+            long now = source.getServer().getTickCount();
+            getGlowTracker(livingEntity.level().dimension()).track(livingEntity.getUUID(), entityType, now,
+                    isInfinite ? GlowTracker.NO_EXPIRY : now + durationTicks);
+            totalWithEffectCount++;
+
+            // Count as changed if it didn't have the effect before
+            if (!hadGlowEffect) {
+                changedCount++;
+
+                if (getConfig().shouldDebugLog()) {
+                    getLogger().debug("Applied glow effect to {} at {}",
+                            entityType.getDescriptionId(), livingEntity.blockPosition());
+                }
+            }
+        }
+
+        @Override
+        protected void complete() {
+            // Send result message
+            if (totalWithEffectCount == 0) {
+                source.sendSuccess(() -> Component.literal("No " + entityTypeId
+                                + " entities found to apply glow effect")
+                        .withStyle(ChatFormatting.YELLOW), true);
+                return;
+            }
+
             String durationText = isInfinite ? "indefinitely" : "for " + (durationTicks / 20) + " seconds";
-            if (changedCount.get() == 0) {
-                source.sendSuccess(() -> Component.literal("All " + totalWithEffectCount.get() + " "
+            if (changedCount == 0) {
+                source.sendSuccess(() -> Component.literal("All " + totalWithEffectCount + " "
                                 + entityTypeId + " entities already have glow effect")
                         .withStyle(ChatFormatting.YELLOW), true);
             } else {
                 String message;
-                if (changedCount.get() == totalWithEffectCount.get()) {
-                    message = "Applied glow effect to " + changedCount.get() + " " + entityTypeId
+                if (changedCount == totalWithEffectCount) {
+                    message = "Applied glow effect to " + changedCount + " " + entityTypeId
                             + " entities " + durationText;
                 } else {
-                    message = "Applied glow effect to " + changedCount.get() + " new " + entityTypeId
+                    message = "Applied glow effect to " + changedCount + " new " + entityTypeId
                             + " entities " + durationText + " ("
-                            + totalWithEffectCount.get()
+                            + totalWithEffectCount
                             + " total now glowing)";
                 }
                 source.sendSuccess(() -> Component.literal(message).withStyle(ChatFormatting.GREEN), true);
             }
-            
+
             if (getConfig().shouldDebugLog()) {
                 getLogger().debug("Successfully applied glow effect: {} changed, {} total of type {}",
-                        changedCount.get(), totalWithEffectCount.get(), entityTypeId);
+                        changedCount, totalWithEffectCount, entityTypeId);
             }
         }
 
-        return changedCount.get();
+        @Override
+        protected String describe() {
+            return "Applying glow to " + entityTypeId;
+        }
     }
-    
+
     /**
-     * Clears glow effects from tracked entities
-     * 
-     * @param source The command source
-     * @param entityType The specific entity type to clear, or null for all types
-     * @return The number of entities that had their glow effect removed
+     * Removes the glow effect from tracked entities and stops tracking them.
+     * Entities may be spread over several levels; each is looked up in the level it was tracked in.
      */
-    private int clearGlowEffects(CommandSourceStack source, EntityType<?> entityType) {
-        AtomicInteger clearedCount = new AtomicInteger(0);
-        
-        if (source.getLevel() instanceof ServerLevel serverLevel) {
-            // Create a copy of the keyset to avoid concurrent modification
-            Set<UUID> mobsToCheck = new HashSet<>(trackedGlowingMobs.keySet());
-            
-            for (UUID mobUUID : mobsToCheck) {
-                EntityType<?> trackedType = trackedGlowingMobs.get(mobUUID);
-                
-                // Skip if we're looking for a specific type and this isn't it
-                if (entityType != null && trackedType != entityType) {
-                    continue;
+    private final class ClearGlowJob extends GlowJob {
+        private final ServerLevel[] levels;
+        private final UUID[] mobUUIDs;
+        @Nullable
+        private final ResourceLocation entityTypeId;
+        private int clearedCount;
+
+        private ClearGlowJob(CommandSourceStack source, ServerLevel[] levels, UUID[] mobUUIDs,
+                             @Nullable ResourceLocation entityTypeId) {
+            super(source, mobUUIDs.length);
+            this.levels = levels;
+            this.mobUUIDs = mobUUIDs;
+            this.entityTypeId = entityTypeId;
+        }
+
+        @Override
+        protected void process(int index) {
+            ServerLevel serverLevel = levels[index];
+            UUID mobUUID = mobUUIDs[index];
+
+            // Find the entity in the level it was tracked in
+            Entity entity = serverLevel.getEntity(mobUUID);
+            if (entity instanceof LivingEntity livingEntity
+                    && livingEntity.hasEffect(MobEffects.GLOWING)) {
+                // Remove the glow effect
+                livingEntity.removeEffect(MobEffects.GLOWING);
+                clearedCount++;
+
+                if (getConfig().shouldDebugLog()) {
+                    getLogger().debug("Removed glow effect from {} at {}",
+                            entity.getType().getDescriptionId(), entity.blockPosition());
                 }
-                
-                // Find the entity in the world
-                Entity entity = serverLevel.getEntity(mobUUID);
-                if (entity instanceof LivingEntity livingEntity
-                        && livingEntity.hasEffect(MobEffects.GLOWING)) {
-                    // Remove the glow effect
-                    livingEntity.removeEffect(MobEffects.GLOWING);
-                    clearedCount.incrementAndGet();
-                    
-                    if (getConfig().shouldDebugLog()) {
-                        getLogger().debug("Removed glow effect from {} at {}",
-                                trackedType.getDescriptionId(), entity.blockPosition());
-                    }
+            }
+
+            // Remove from tracking regardless of whether entity was found
+            // (entity might have despawned or died)
+            GlowTracker tracker = trackedGlowingMobs.get(serverLevel.dimension());
+            if (tracker != null) {
+                tracker.untrack(mobUUID);
+            }
+        }
+
+        @Override
+        protected void complete() {
+            if (getConfig().shouldDebugLog()) {
+                getLogger().debug("Cleared glow effects from {} entities", clearedCount);
+            }
+
+            String typeText = entityTypeId == null ? "" : entityTypeId + " ";
+            if (clearedCount == 0) {
+                source.sendSuccess(() -> Component.literal("No glowing " + typeText + "entities found to clear")
+                        .withStyle(ChatFormatting.YELLOW), true);
+            } else {
+                source.sendSuccess(() -> Component.literal("Cleared glow effect from " + clearedCount
+                                + " " + typeText + "entities")
+                        .withStyle(ChatFormatting.GREEN), true);
+            }
+        }
+
+        @Override
+        protected String describe() {
+            return entityTypeId == null ? "Clearing glow" : "Clearing glow from " + entityTypeId;
+        }
+    }
+
+    /**
+     * Shows the glow of a fixed set of entities to some players only.
+     */
+    private final class ClientGlowJob extends GlowJob {
+        private final LivingEntity[] entities;
+        private final ServerPlayer[] audience;
+        private final EntityType<?> entityType;
+        private final ResourceLocation entityTypeId;
+        private int glowingCount;
+
+        private ClientGlowJob(CommandSourceStack source, LivingEntity[] entities, ServerPlayer[] audience,
+                              EntityType<?> entityType, ResourceLocation entityTypeId) {
+            super(source, entities.length);
+            this.entities = entities;
+            this.audience = audience;
+            this.entityType = entityType;
+            this.entityTypeId = entityTypeId;
+        }
+
+        @Override
+        protected void process(int index) {
+            LivingEntity livingEntity = entities[index];
+            entities[index] = null; // Don't keep processed entities alive
+            if (!livingEntity.isAlive()) {
+                return;
+            }
+
+            boolean sent = false;
+            for (ServerPlayer player : audience) {
+                // Players in other dimensions don't know the entity
+                if (player.isRemoved() || player.level() != livingEntity.level()) {
+                    continue;
                 }
-                
-                // Remove from tracking regardless of whether entity was found
-                // (entity might have despawned or died)
-                trackedGlowingMobs.remove(mobUUID);
+                ClientGlow.send(player, livingEntity, true);
+                clientGlows.computeIfAbsent(player.getUUID(), key -> new Int2ReferenceOpenHashMap<>())
+                        .put(livingEntity.getId(), entityType);
+                sent = true;
+            }
+            if (sent) {
+                glowingCount++;
             }
-            
-            // Clean up any dead references (entities that are no longer in the world)
-            cleanupDeadReferences(serverLevel);
         }
-        
-        if (getConfig().shouldDebugLog()) {
-            getLogger().debug("Cleared glow effects from {} entities", clearedCount.get());
+
+        @Override
+        protected void complete() {
+            if (glowingCount == 0) {
+                source.sendSuccess(() -> Component.literal("No " + entityTypeId
+                                + " entities found to apply glow effect")
+                        .withStyle(ChatFormatting.YELLOW), false);
+                return;
+            }
+            source.sendSuccess(() -> Component.literal("Made " + glowingCount + " " + entityTypeId
+                            + " entities glow for " + audience.length + " player(s) (client-side only)")
+                    .withStyle(ChatFormatting.GREEN), false);
+        }
+
+        @Override
+        protected String describe() {
+            return "Applying client-side glow to " + entityTypeId;
         }
-        
-        return clearedCount.get();
     }
-    
+
     /**
-     * Cleanup tracking for entities that no longer exist
+     * Restores the real shared flags of entities that were glowing client-side only.
      */
-    private void cleanupDeadReferences(ServerLevel serverLevel) {
-        Set<UUID> deadMobs = new HashSet<>();
-        
-        for (UUID mobUUID : trackedGlowingMobs.keySet()) {
-            Entity entity = serverLevel.getEntity(mobUUID);
-            if (entity == null || !entity.isAlive()) {
-                deadMobs.add(mobUUID);
+    private final class ClearClientGlowJob extends GlowJob {
+        private final ServerPlayer[] players;
+        private final int[] entityIds;
+        private int clearedCount;
+
+        private ClearClientGlowJob(CommandSourceStack source, ServerPlayer[] players, int[] entityIds) {
+            super(source, entityIds.length);
+            this.players = players;
+            this.entityIds = entityIds;
+        }
+
+        @Override
+        protected void process(int index) {
+            ServerPlayer player = players[index];
+            if (player.isRemoved()) {
+                return;
+            }
+            // Entities in other levels were already dropped by the client
+            Entity entity = player.serverLevel().getEntity(entityIds[index]);
+            if (entity != null) {
+                ClientGlow.send(player, entity, false);
+                clearedCount++;
             }
         }
-        
-        for (UUID deadMob : deadMobs) {
-            trackedGlowingMobs.remove(deadMob);
+
+        @Override
+        protected void complete() {
+            if (clearedCount > 0) {
+                source.sendSuccess(() -> Component.literal("Cleared client-side glow from " + clearedCount
+                                + " entities")
+                        .withStyle(ChatFormatting.GREEN), false);
+            }
         }
-        
-        if (getConfig().shouldDebugLog() && !deadMobs.isEmpty()) {
-            getLogger().debug("Cleaned up {} dead entity references from tracking", deadMobs.size());
+
+        @Override
+        protected String describe() {
+            return "Clearing client-side glow";
         }
     }
 }
@@ -0,0 +1,124 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.mob_glow;
+
+import net.minecraft.world.entity.LivingEntity;
+import net.minecraft.world.phys.Vec3;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Selects the entities closest to a position, e.g. "the 100 nearest zombies".
+ * <p>
+ * Keeps a bounded max-heap of the best {@code limit} candidates seen so far, keyed by squared
+ * distance, so selecting k out of n entities costs O(n log k) time and O(k) memory no matter how
+ * many entities match. Candidates outside the radius are skipped without touching the heap.
+ */
+final class NearestEntitySelector {
+    private final LivingEntity[] entities;
+    private final double[] distances;
+    private int size;
+
+    private NearestEntitySelector(int capacity) {
+        this.entities = new LivingEntity[capacity];
+        this.distances = new double[capacity];
+    }
+
+    /**
+     * Selects living entities within a radius of a position, nearest first if limited.
+     *
+     * @param candidates    The candidate entities
+     * @param origin        The position to measure distances from
+     * @param maxDistanceSq The squared radius, or {@link Double#MAX_VALUE} for no radius
+     * @param limit         The maximum number of entities to select, or 0 for no limit
+     * @return The selected entities; sorted nearest first if the limit was reached
+     */
+    static LivingEntity[] select(Collection<LivingEntity> candidates, Vec3 origin,
+                                 double maxDistanceSq, int limit) {
+        if (limit <= 0 || candidates.size() <= limit) {
+            // Everything in range is selected, no ordering needed
+            LivingEntity[] selected = new LivingEntity[candidates.size()];
+            int count = 0;
+            for (LivingEntity entity : candidates) {
+                if (entity.isAlive() && entity.distanceToSqr(origin) <= maxDistanceSq) {
+                    selected[count++] = entity;
+                }
+            }
+            return count == selected.length ? selected : Arrays.copyOf(selected, count);
+        }
+
+        NearestEntitySelector selector = new NearestEntitySelector(limit);
+        for (LivingEntity entity : candidates) {
+            if (!entity.isAlive()) {
+                continue;
+            }
+            double distanceSq = entity.distanceToSqr(origin);
+            if (distanceSq <= maxDistanceSq) {
+                selector.offer(entity, distanceSq);
+            }
+        }
+        return selector.drainNearestFirst();
+    }
+
+    private void offer(LivingEntity entity, double distanceSq) {
+        if (size < entities.length) {
+            entities[size] = entity;
+            distances[size] = distanceSq;
+            siftUp(size++);
+        } else if (distanceSq < distances[0]) {
+            // Closer than the farthest selected entity: replace the heap root
+            entities[0] = entity;
+            distances[0] = distanceSq;
+            siftDown(0, size);
+        }
+    }
+
+    /**
+     * Heap-sorts the selection in place, which leaves it in ascending distance order.
+     */
+    private LivingEntity[] drainNearestFirst() {
+        for (int end = size - 1; end > 0; end--) {
+            swap(0, end);
+            siftDown(0, end);
+        }
+        return size == entities.length ? entities : Arrays.copyOf(entities, size);
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (distances[parent] >= distances[index]) {
+                return;
+            }
+            swap(parent, index);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index, int heapSize) {
+        while (true) {
+            int largest = index;
+            int left = 2 * index + 1;
+            int right = left + 1;
+            if (left < heapSize && distances[left] > distances[largest]) {
+                largest = left;
+            }
+            if (right < heapSize && distances[right] > distances[largest]) {
+                largest = right;
+            }
+            if (largest == index) {
+                return;
+            }
+            swap(index, largest);
+            index = largest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        LivingEntity entity = entities[a];
+        entities[a] = entities[b];
+        entities[b] = entity;
+        double distance = distances[a];
+        distances[a] = distances[b];
+        distances[b] = distance;
+    }
+}
@@ -18,6 +18,10 @@ public class MobGlowConfig extends AbstractModuleConfig<MobGlowModule, MobGlowCo
     private ModConfigSpec.IntValue maxDuration;
     private ModConfigSpec.BooleanValue requireOp;
     private ModConfigSpec.IntValue maxMobsPerCommand;
+    private ModConfigSpec.IntValue tickBudgetMicros;
+
+    // Values copied in onConfigLoad, replaced as a whole on reload
+    private volatile Snapshot snapshot = Snapshot.DEFAULT;
 
     /**
      * Creates a new MobGlowConfig.
@@ -44,15 +48,26 @@ public class MobGlowConfig extends AbstractModuleConfig<MobGlowModule, MobGlowCo
                 .define("require_op", true);
 
         maxMobsPerCommand = builder
-                .comment("Maximum number of mobs that can be affected per command (0 for no limit)")
+                .comment("Maximum number of mobs that can be affected per command (0 for no limit). "
+                        + "The mobs nearest to the command source are selected first.")
                 .defineInRange("max_mobs_per_command", 100, 0, Integer.MAX_VALUE);
 
+        tickBudgetMicros = builder
+                .comment("Time budget in microseconds per server tick for applying and clearing glow effects "
+                        + "(0 for unlimited). Remaining work continues in the next tick.")
+                .defineInRange("tick_budget_micros", 2000, 0, 50000);
+
         LOGGER.debug("Built module-specific configuration for Mob Glow module");
     }
 
     @Override
     public void onConfigLoad(ModConfigSpec spec) {
         super.onConfigLoad(spec); // Call parent to handle enabled logging
+        if (defaultDuration != null && maxDuration != null && requireOp != null
+                && maxMobsPerCommand != null && tickBudgetMicros != null) {
+            snapshot = new Snapshot(defaultDuration.get(), maxDuration.get(), requireOp.get(),
+                    maxMobsPerCommand.get(), tickBudgetMicros.get());
+        }
         // React to module-specific configuration changes if needed
         if (shouldDebugLog()) {
             LOGGER.debug("Module-specific configuration loaded for Mob Glow module");
@@ -61,6 +76,7 @@ public class MobGlowConfig extends AbstractModuleConfig<MobGlowModule, MobGlowCo
                 LOGGER.debug("  - Max duration: {} seconds", maxDuration.get());
                 LOGGER.debug("  - Require OP: {}", requireOp.get());
                 LOGGER.debug("  - Max mobs per command: {}", maxMobsPerCommand.get());
+                LOGGER.debug("  - Tick budget: {} µs", tickBudgetMicros.get());
             }
         }
     }
@@ -71,7 +87,7 @@ public class MobGlowConfig extends AbstractModuleConfig<MobGlowModule, MobGlowCo
      * @return default duration in seconds, or default value if not configured
      */
     public int getDefaultDurationValue() {
-        return defaultDuration != null ? defaultDuration.get() : -1;
+        return snapshot.defaultDuration();
     }
 
     /**
@@ -80,7 +96,7 @@ public class MobGlowConfig extends AbstractModuleConfig<MobGlowModule, MobGlowCo
      * @return maximum duration in seconds, or default value if not configured
      */
     public int getMaxDurationValue() {
-        return maxDuration != null ? maxDuration.get() : 3600;
+        return snapshot.maxDuration();
     }
 
     /**
@@ -89,7 +105,7 @@ public class MobGlowConfig extends AbstractModuleConfig<MobGlowModule, MobGlowCo
      * @return true if OP is required, or default value if not configured
      */
     public boolean getRequireOpValue() {
-        return requireOp != null ? requireOp.get() : true;
+        return snapshot.requireOp();
     }
 
     /**
@@ -98,7 +114,16 @@ public class MobGlowConfig extends AbstractModuleConfig<MobGlowModule, MobGlowCo
      * @return maximum mobs per command, or default value if not configured
      */
     public int getMaxMobsPerCommandValue() {
-        return maxMobsPerCommand != null ? maxMobsPerCommand.get() : 100;
+        return snapshot.maxMobsPerCommand();
+    }
+
+    /**
+     * Gets the configured per-tick time budget for glow jobs.
+     *
+     * @return time budget in microseconds (0 for unlimited), or default value if not configured
+     */
+    public int getTickBudgetMicrosValue() {
+        return snapshot.tickBudgetMicros();
     }
 
     /**
@@ -136,4 +161,39 @@ public class MobGlowConfig extends AbstractModuleConfig<MobGlowModule, MobGlowCo
     public ModConfigSpec.IntValue getMaxMobsPerCommand() {
         return maxMobsPerCommand;
     }
+
+    /**
+     * Gets the per-tick time budget configuration value. (In microseconds)
+     *
+     * @return The per-tick time budget configuration value
+     */
+    public ModConfigSpec.IntValue getTickBudgetMicros() {
+        return tickBudgetMicros;
+    }
+
+    /**
+     * Gets the values of the last config load as one immutable snapshot.
+     *
+     * @return The current snapshot, or the defaults if the config is not loaded yet
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Immutable copy of the module-specific configuration values.
+     *
+     * @param defaultDuration   Default glow duration in seconds (-1 for truly infinite)
+     * @param maxDuration       Maximum glow duration in seconds (0 for no limit)
+     * @param requireOp         Whether the command requires operator permissions
+     * @param maxMobsPerCommand Maximum number of mobs per command (0 for no limit)
+     * @param tickBudgetMicros  Per-tick time budget in microseconds (0 for unlimited)
+     */
+    public record Snapshot(int defaultDuration,
+                           int maxDuration,
+                           boolean requireOp,
+                           int maxMobsPerCommand,
+                           int tickBudgetMicros) {
+        static final Snapshot DEFAULT = new Snapshot(-1, 3600, true, 100, 2000);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,77 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.wither_skeleton;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minecraft.core.BlockPos;
+
+/**
+ * Collects blocked skeleton spawns per region so they can be reported as one summary message.
+ * <p>
+ * Regions are 128x128 block columns, large enough to cover a fortress. Regions are kept in the
+ * order they were first hit, so when a flush is capped the oldest regions are reported first and
+ * the rest keep accumulating until the next flush. Only accessed from the server thread.
+ */
+final class BlockedSpawnAggregator {
+    private static final int REGION_SHIFT = 7;
+
+    private final Long2ObjectLinkedOpenHashMap<BlockedRegion> pending = new Long2ObjectLinkedOpenHashMap<>();
+
+    /**
+     * Records a blocked spawn.
+     *
+     * @param position The position of the blocked skeleton
+     * @param tick     The current server tick
+     */
+    void record(BlockPos position, long tick) {
+        long regionKey = ((long) (position.getX() >> REGION_SHIFT) << 32)
+                | ((position.getZ() >> REGION_SHIFT) & 0xFFFFFFFFL);
+        BlockedRegion region = pending.get(regionKey);
+        if (region == null) {
+            region = new BlockedRegion(tick);
+            pending.put(regionKey, region);
+        }
+        region.count++;
+        region.lastPosition = position;
+    }
+
+    boolean isEmpty() {
+        return pending.isEmpty();
+    }
+
+    /**
+     * Removes and returns the region that was hit first, or null if there is none.
+     *
+     * @return The oldest pending region
+     */
+    BlockedRegion poll() {
+        return pending.isEmpty() ? null : pending.removeFirst();
+    }
+
+    void clear() {
+        pending.clear();
+    }
+
+    /**
+     * Blocked spawns in one region since it was last reported.
+     */
+    static final class BlockedRegion {
+        private final long firstTick;
+        private int count;
+        private BlockPos lastPosition;
+
+        private BlockedRegion(long firstTick) {
+            this.firstTick = firstTick;
+        }
+
+        long getFirstTick() {
+            return firstTick;
+        }
+
+        int getCount() {
+            return count;
+        }
+
+        BlockPos getLastPosition() {
+            return lastPosition;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.wither_skeleton;
+
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.ChunkPos;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.level.chunk.status.ChunkStatus;
+import net.minecraft.world.level.levelgen.structure.Structure;
+import net.minecraft.world.level.levelgen.structure.structures.NetherFortressStructure;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Per-chunk cache answering "is this chunk covered by a Nether Fortress structure reference".
+ * <p>
+ * Structure references are fixed once a chunk has been generated, so the answer is computed on
+ * the first spawn in a chunk and then served from a long-keyed map. Entries are dropped when the
+ * chunk unloads and whole levels when they unload, which keeps the cache bounded by the number
+ * of loaded chunks. Only accessed from the server thread.
+ */
+final class FortressChunkCache {
+    private static final byte UNKNOWN = -1;
+    private static final byte OUTSIDE = 0;
+    private static final byte INSIDE = 1;
+
+    private final Map<ResourceKey<Level>, Long2ByteOpenHashMap> levels = new HashMap<>();
+
+    /**
+     * Checks whether the chunk containing the position is covered by a fortress.
+     *
+     * @param level    The level
+     * @param position The position
+     * @return true if the chunk references a {@link NetherFortressStructure}
+     */
+    boolean isInFortressChunk(ServerLevel level, BlockPos position) {
+        Long2ByteOpenHashMap chunks = levels.computeIfAbsent(level.dimension(), key -> {
+            Long2ByteOpenHashMap map = new Long2ByteOpenHashMap();
+            map.defaultReturnValue(UNKNOWN);
+            return map;
+        });
+
+        int chunkX = position.getX() >> 4;
+        int chunkZ = position.getZ() >> 4;
+        long chunkKey = ChunkPos.asLong(chunkX, chunkZ);
+        byte cached = chunks.get(chunkKey);
+        if (cached != UNKNOWN) {
+            return cached == INSIDE;
+        }
+
+        boolean inside = false;
+        for (Structure structure : level.getChunk(chunkX, chunkZ, ChunkStatus.STRUCTURE_REFERENCES)
+                .getAllReferences().keySet()) {
+            if (structure instanceof NetherFortressStructure) {
+                inside = true;
+                break;
+            }
+        }
+        chunks.put(chunkKey, inside ? INSIDE : OUTSIDE);
+        return inside;
+    }
+
+    void invalidateChunk(ResourceKey<Level> level, long chunkKey) {
+        Long2ByteOpenHashMap chunks = levels.get(level);
+        if (chunks != null) {
+            chunks.remove(chunkKey);
+        }
+    }
+
+    void invalidateLevel(ResourceKey<Level> level) {
+        levels.remove(level);
+    }
+
+    void clear() {
+        levels.clear();
+    }
+
+    /**
+     * Gets the number of cached chunks over all levels.
+     *
+     * @return The number of cached chunks
+     */
+    int size() {
+        int size = 0;
+        for (Long2ByteOpenHashMap chunks : levels.values()) {
+            size += chunks.size();
+        }
+        return size;
+    }
+}
@@ -0,0 +1,121 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.wither_skeleton;
+
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.entity.MobSpawnType;
+import net.minecraft.world.entity.monster.Skeleton;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-capacity ring buffer of pending Wither Skeleton replacements.
+ * <p>
+ * Only the data needed to spawn the replacement later is stored, in preallocated parallel
+ * arrays, so queueing a replacement never allocates. When the queue is full, new replacements
+ * are dropped: during a spawn storm some blocked skeletons simply aren't replaced.
+ * Only accessed from the server thread.
+ */
+final class ReplacementQueue {
+    private final ServerLevel[] levels;
+    private final double[] xs;
+    private final double[] ys;
+    private final double[] zs;
+    private final float[] yRots;
+    private final float[] xRots;
+    private final MobSpawnType[] spawnTypes;
+    private int head;
+    private int size;
+
+    ReplacementQueue(int capacity) {
+        levels = new ServerLevel[capacity];
+        xs = new double[capacity];
+        ys = new double[capacity];
+        zs = new double[capacity];
+        yRots = new float[capacity];
+        xRots = new float[capacity];
+        spawnTypes = new MobSpawnType[capacity];
+    }
+
+    /**
+     * Queues a replacement for a blocked skeleton.
+     *
+     * @return false if the queue is full and the replacement was dropped
+     */
+    boolean offer(ServerLevel level, Skeleton skeleton, MobSpawnType spawnType) {
+        return offer(level, skeleton.getX(), skeleton.getY(), skeleton.getZ(), skeleton.getYRot(), skeleton.getXRot(),
+                spawnType);
+    }
+
+    /**
+     * Queues a replacement for a skeleton spawn that was vetoed before the skeleton was created.
+     *
+     * @return false if the queue is full and the replacement was dropped
+     */
+    boolean offer(ServerLevel level, double x, double y, double z, float yRot, float xRot, MobSpawnType spawnType) {
+        if (size == levels.length) {
+            return false;
+        }
+        int index = (head + size) % levels.length;
+        levels[index] = level;
+        xs[index] = x;
+        ys[index] = y;
+        zs[index] = z;
+        yRots[index] = yRot;
+        xRots[index] = xRot;
+        spawnTypes[index] = spawnType;
+        size++;
+        return true;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    ServerLevel peekLevel() {
+        return levels[head];
+    }
+
+    double peekX() {
+        return xs[head];
+    }
+
+    double peekY() {
+        return ys[head];
+    }
+
+    double peekZ() {
+        return zs[head];
+    }
+
+    float peekYRot() {
+        return yRots[head];
+    }
+
+    float peekXRot() {
+        return xRots[head];
+    }
+
+    MobSpawnType peekSpawnType() {
+        return spawnTypes[head];
+    }
+
+    /**
+     * Removes the head of the queue.
+     */
+    void pop() {
+        levels[head] = null; // Don't keep unloaded levels alive
+        spawnTypes[head] = null;
+        head = (head + 1) % levels.length;
+        size--;
+    }
+
+    void clear() {
+        Arrays.fill(levels, null);
+        Arrays.fill(spawnTypes, null);
+        head = 0;
+        size = 0;
+    }
+}
@@ -1,27 +1,45 @@
 package net.geraldhofbauer.vanillaplusadditions.modules.wither_skeleton;
 
-import it.unimi.dsi.fastutil.longs.LongSet;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.BoolArgumentType;
+import com.mojang.brigadier.context.CommandContext;
+import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import net.geraldhofbauer.vanillaplusadditions.core.AbstractModule;
-import net.geraldhofbauer.vanillaplusadditions.core.AbstractModuleConfig;
+import net.geraldhofbauer.vanillaplusadditions.core.HandlerTimer;
+import net.geraldhofbauer.vanillaplusadditions.modules.wither_skeleton.config.WitherSkeletonConfig;
 import net.minecraft.ChatFormatting;
+import net.minecraft.commands.CommandSourceStack;
+import net.minecraft.commands.Commands;
 import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.network.chat.ClickEvent;
 import net.minecraft.network.chat.Component;
 import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.util.RandomSource;
 import net.minecraft.world.entity.EntityType;
+import net.minecraft.world.entity.Mob;
+import net.minecraft.world.entity.MobCategory;
 import net.minecraft.world.entity.MobSpawnType;
+import net.minecraft.world.entity.SpawnPlacements;
 import net.minecraft.world.entity.monster.Skeleton;
 import net.minecraft.world.entity.monster.WitherSkeleton;
 import net.minecraft.world.level.Level;
-import net.minecraft.world.level.levelgen.structure.Structure;
-import net.minecraft.world.level.levelgen.structure.structures.NetherFortressStructure;
+import net.minecraft.world.level.NaturalSpawner;
+import net.minecraft.world.level.ServerLevelAccessor;
+import net.minecraft.world.phys.AABB;
 import net.neoforged.bus.api.EventPriority;
 import net.neoforged.bus.api.SubscribeEvent;
-import net.neoforged.neoforge.common.NeoForge;
+import net.neoforged.neoforge.event.entity.RegisterSpawnPlacementsEvent;
 import net.neoforged.neoforge.event.entity.living.FinalizeSpawnEvent;
-
-import java.util.Map;
+import net.neoforged.neoforge.event.entity.player.PlayerEvent;
+import net.neoforged.neoforge.event.level.ChunkEvent;
+import net.neoforged.neoforge.event.level.LevelEvent;
+import net.neoforged.neoforge.event.server.ServerStoppedEvent;
+import net.neoforged.neoforge.event.tick.ServerTickEvent;
 
 /**
  * Wither Skeleton Module
@@ -32,26 +50,47 @@ import java.util.Map;
  * <p>
  * Features:
  * - Prevents normal skeleton spawns in the Nether
- * - Broadcasts configurable messages to all players
- * - Option to replace blocked skeletons with Wither Skeletons
+ * - Broadcasts rate-limited summary messages about blocked spawns, per region
+ * - Players can turn the messages on or off with /skeletonnotify
+ * - Replaces blocked skeletons with Wither Skeletons at the end of the tick, capped per tick and by the
+ *   monster spawn caps
  * - Configurable message format and replacement behavior
  */
-public class WitherSkeletonModule
-        extends AbstractModule<WitherSkeletonModule, AbstractModuleConfig.DefaultModuleConfig<WitherSkeletonModule>> {
+public class WitherSkeletonModule extends AbstractModule<WitherSkeletonModule, WitherSkeletonConfig> {
+
+    // Key in the player's persistent data holding their /skeletonnotify choice
+    private static final String NOTIFY_TAG = "vanillaplusadditions:skeleton_notify";
+
+    // Whether a chunk is covered by a fortress, cached per chunk until it unloads
+    private final FortressChunkCache fortressChunks = new FortressChunkCache();
+
+    // Blocked spawns waiting to be reported, and when the next summary is due
+    private final BlockedSpawnAggregator blockedSpawns = new BlockedSpawnAggregator();
+    private long nextFlushTick;
+
+    // Replacements are spawned at the end of the tick instead of inside the spawn event
+    private static final int REPLACEMENT_QUEUE_CAPACITY = 256;
+
+    // NaturalSpawner scales the per-chunk category caps by the spawnable chunks over this area (17x17 chunks)
+    private static final int NATURAL_SPAWNER_CHUNK_AREA = 17 * 17;
+    private final ReplacementQueue pendingReplacements = new ReplacementQueue(REPLACEMENT_QUEUE_CAPACITY);
+
+    // Timers for /vpamodules timings
+    private final HandlerTimer entitySpawnTimer = createHandlerTimer("onEntitySpawn");
+    private final HandlerTimer serverTickTimer = createHandlerTimer("onServerTick");
 
     public WitherSkeletonModule() {
         super("wither_skeleton",
                 "Wither Skeleton Enforcer",
                 "Prevents normal skeletons from spawning in the Nether and broadcasts messages "
                         + "about blocked spawns",
-                AbstractModuleConfig::createDefault
+                WitherSkeletonConfig::new
         );
     }
 
     @Override
     protected void onInitialize() {
-        // Register event listeners for this module
-        NeoForge.EVENT_BUS.register(this);
+        getModEventBus().addListener(this::onRegisterSpawnPlacements);
 
         getLogger().info("Wither Skeleton module initialized - Normal skeletons are now banned from the Nether!");
     }
@@ -64,11 +103,66 @@ public class WitherSkeletonModule
     }
 
     /**
-     * Event handler that prevents normal skeleton spawns in the Nether and broadcasts messages
+     * Adds a spawn placement rule for skeletons, so natural spawns in fortress chunks are vetoed
+     * before the skeleton entity is even created.
+     */
+    private void onRegisterSpawnPlacements(RegisterSpawnPlacementsEvent event) {
+        event.register(EntityType.SKELETON, this::checkSkeletonSpawnPlacement,
+                RegisterSpawnPlacementsEvent.Operation.AND);
+    }
+
+    /**
+     * Spawn placement rule for skeletons. Rejects positions in Nether fortress chunks and reports
+     * and replaces the rejected spawn just like a cancelled one.
+     * <p>
+     * NaturalSpawner runs this rule before its collision check and for every position of a pack,
+     * so the collision check is done here first: positions where the skeleton would not have
+     * spawned anyway are vetoed without being reported or replaced. The queued replacements are
+     * checked again at the end of the tick, which drops duplicates once the chunk is full.
+     *
+     * @return false to veto the spawn
+     */
+    private boolean checkSkeletonSpawnPlacement(EntityType<Skeleton> type, ServerLevelAccessor levelAccessor,
+                                                MobSpawnType spawnType, BlockPos position, RandomSource random) {
+        // World generation spawns run off-thread on a WorldGenRegion; FinalizeSpawnEvent handles those
+        if (!isModuleEnabled()
+                || !(levelAccessor instanceof ServerLevel serverLevel)
+                || serverLevel.dimension() != Level.NETHER
+                || !fortressChunks.isInFortressChunk(serverLevel, position)) {
+            return true;
+        }
+
+        double x = position.getX() + 0.5;
+        double z = position.getZ() + 0.5;
+        if (!serverLevel.noCollision(type.getSpawnAABB(x, position.getY(), z))) {
+            return false;
+        }
+
+        if (getConfig().shouldDebugLog()) {
+            getLogger().debug("Vetoed normal skeleton spawn placement in Nether at {}", position);
+        }
+
+        recordBlockedSpawn(serverLevel.getServer(), position);
+        if (!pendingReplacements.offer(serverLevel, x, position.getY(), z, random.nextFloat() * 360.0F, 0.0F,
+                spawnType) && getConfig().shouldDebugLog()) {
+            getLogger().debug("Replacement queue full, not replacing skeleton at {}", position);
+        }
+        return false;
+    }
+
+    /**
+     * Event handler that prevents normal skeleton spawns in the Nether and broadcasts messages.
+     * Catches the spawns that bypass spawn placement rules (e.g. spawn eggs and spawners).
      * Uses HIGH priority to ensure we can cancel the spawn before other mods process it
      */
     @SubscribeEvent(priority = EventPriority.HIGH)
     public void onEntitySpawn(FinalizeSpawnEvent event) {
+        long start = entitySpawnTimer.start();
+        handleEntitySpawn(event);
+        entitySpawnTimer.stop(start);
+    }
+
+    private void handleEntitySpawn(FinalizeSpawnEvent event) {
         if (!isModuleEnabled()) {
             return;
         }
@@ -92,26 +186,8 @@ public class WitherSkeletonModule
             return;
         }
 
-        // Check if the skeleton is inside a fortress - allow it if so
-        Map<Structure, LongSet> allStructures = serverLevel.structureManager().getAllStructuresAt(
-                event.getEntity().blockPosition());
-        if (allStructures.isEmpty()) {
-            return;
-        }
-        boolean insideFortress = false;
-        for (Structure structure : allStructures.keySet()) {
-            if (structure instanceof NetherFortressStructure) {
-                // Allow normal skeleton spawn inside Nether Fortress
-                if (getConfig().shouldDebugLog()) {
-                    getLogger().debug("Allowed normal skeleton spawn inside Nether Fortress at {}",
-                            event.getEntity().blockPosition());
-                }
-                insideFortress = true;
-                break;
-            }
-        }
-
-        if (!insideFortress) {
+        // Check if the skeleton is inside a fortress chunk
+        if (!fortressChunks.isInFortressChunk(serverLevel, event.getEntity().blockPosition())) {
             return;
         }
 
@@ -123,45 +199,271 @@ public class WitherSkeletonModule
         // Cancel the spawn
         event.setSpawnCancelled(true);
 
-        // Broadcast message to all players
-        broadcastSkeletonBlockedMessage(serverLevel, event.getEntity().blockPosition());
+        // Report it in the next summary message
+        recordBlockedSpawn(serverLevel.getServer(), event.getEntity().blockPosition());
+
+        // Spawn a Wither Skeleton in its place at the end of the tick
+        if (!pendingReplacements.offer(serverLevel, skeleton, event.getSpawnType())
+                && getConfig().shouldDebugLog()) {
+            getLogger().debug("Replacement queue full, not replacing skeleton at {}", skeleton.blockPosition());
+        }
+    }
+
+    @SubscribeEvent
+    public void onChunkUnload(ChunkEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel serverLevel) {
+            fortressChunks.invalidateChunk(serverLevel.dimension(), event.getChunk().getPos().toLong());
+        }
+    }
+
+    @SubscribeEvent
+    public void onLevelUnload(LevelEvent.Unload event) {
+        if (event.getLevel() instanceof ServerLevel serverLevel) {
+            fortressChunks.invalidateLevel(serverLevel.dimension());
+        }
+    }
+
+    @SubscribeEvent
+    public void onServerStopped(ServerStoppedEvent event) {
+        clearState();
+    }
+
+    /**
+     * Gets the number of chunks whose fortress coverage is cached, over all levels.
+     * Should stay bounded by the number of loaded chunks.
+     *
+     * @return The number of cached chunks
+     */
+    public int getCachedFortressChunkCount() {
+        return fortressChunks.size();
+    }
+
+    /**
+     * Gets the number of Wither Skeleton replacements waiting to be spawned.
+     *
+     * @return The number of queued replacements
+     */
+    public int getPendingReplacementCount() {
+        return pendingReplacements.size();
+    }
+
+    /**
+     * Drops all cached and queued state. Chunk unloads are not seen while the module is disabled,
+     * so the fortress cache could go stale.
+     */
+    @Override
+    protected void onDisable() {
+        clearState();
+    }
 
-        // Optionally spawn a Wither Skeleton in its place
-        replaceWithWitherSkeleton(serverLevel, skeleton, event.getSpawnType());
+    private void clearState() {
+        fortressChunks.clear();
+        blockedSpawns.clear();
+        nextFlushTick = 0;
+        pendingReplacements.clear();
     }
 
     /**
-     * Broadcasts a message to all players about the blocked skeleton spawn
+     * Register the /skeletonnotify command that lets players turn blocked spawn messages on or off
      */
-    private void broadcastSkeletonBlockedMessage(ServerLevel level, BlockPos position) {
+    @Override
+    public void registerCommands(CommandDispatcher<CommandSourceStack> dispatcher) {
+        dispatcher.register(
+                Commands.literal("skeletonnotify")
+                        .requires(source -> isModuleEnabled())
+                        .then(Commands.argument("enabled", BoolArgumentType.bool())
+                                .executes(this::executeSkeletonNotify)
+                        )
+        );
+    }
+
+    private int executeSkeletonNotify(CommandContext<CommandSourceStack> context) throws CommandSyntaxException {
+        ServerPlayer player = context.getSource().getPlayerOrException();
+        boolean enabled = BoolArgumentType.getBool(context, "enabled");
+        player.getPersistentData().putBoolean(NOTIFY_TAG, enabled);
+
+        context.getSource().sendSuccess(() -> Component.literal(enabled
+                        ? "You will now be notified about blocked skeleton spawns"
+                        : "You will no longer be notified about blocked skeleton spawns")
+                .withStyle(ChatFormatting.GREEN), false);
+        return 1;
+    }
+
+    /**
+     * Keeps the /skeletonnotify choice when a player respawns or returns from the End.
+     */
+    @SubscribeEvent
+    public void onPlayerClone(PlayerEvent.Clone event) {
+        CompoundTag original = event.getOriginal().getPersistentData();
+        if (original.contains(NOTIFY_TAG)) {
+            event.getEntity().getPersistentData().putBoolean(NOTIFY_TAG, original.getBoolean(NOTIFY_TAG));
+        }
+    }
+
+    /**
+     * Spawns queued replacements and sends due summary messages.
+     */
+    @SubscribeEvent
+    public void onServerTick(ServerTickEvent.Post event) {
+        long start = serverTickTimer.start();
+        handleServerTick(event);
+        serverTickTimer.stop(start);
+    }
+
+    private void handleServerTick(ServerTickEvent.Post event) {
+        if (!pendingReplacements.isEmpty()) {
+            spawnPendingReplacements();
+        }
+        if (!blockedSpawns.isEmpty()) {
+            flushBlockedSpawnMessages(event.getServer());
+        }
+    }
+
+    /**
+     * Sends due summary messages, at most max_messages_per_second per second.
+     */
+    private void flushBlockedSpawnMessages(MinecraftServer server) {
+        long tick = server.getTickCount();
+        if (tick < nextFlushTick) {
+            return;
+        }
+
+        // Sent at most once per interval (which is at least a second), so this caps messages per second
+        WitherSkeletonConfig.Snapshot config = getConfig().getSnapshot();
+        int budget = config.maxMessagesPerSecond();
+        BlockedSpawnAggregator.BlockedRegion region;
+        while (budget > 0 && (region = blockedSpawns.poll()) != null) {
+            broadcastSkeletonBlockedMessage(server, region, tick);
+            budget--;
+        }
+        nextFlushTick = tick + config.messageInterval() * 20L;
+    }
+
+    private void recordBlockedSpawn(MinecraftServer server, BlockPos position) {
+        long tick = server.getTickCount();
+        if (blockedSpawns.isEmpty() && nextFlushTick <= tick) {
+            // First blocked spawn after a quiet period: collect for one interval before reporting
+            nextFlushTick = tick + getConfig().getMessageIntervalValue() * 20L;
+        }
+        blockedSpawns.record(position, tick);
+    }
+
+    private boolean shouldNotify(ServerPlayer player) {
+        CompoundTag data = player.getPersistentData();
+        return data.contains(NOTIFY_TAG) ? data.getBoolean(NOTIFY_TAG) : getConfig().getNotifyPlayersByDefaultValue();
+    }
+
+    /**
+     * Broadcasts one summary message about the blocked skeleton spawns in a region
+     * to all players that want to be notified
+     */
+    private void broadcastSkeletonBlockedMessage(MinecraftServer server, BlockedSpawnAggregator.BlockedRegion region,
+                                                 long tick) {
+        BlockPos position = region.getLastPosition();
+        int count = region.getCount();
+        long seconds = Math.max(1, (tick - region.getFirstTick()) / 20);
+        String summary = count == 1
+                ? "🔥 A normal skeleton tried to spawn in a Fortress but was blocked! 🔥"
+                : "🔥 %d normal skeletons tried to spawn in a Fortress in the last %ds but were blocked! 🔥"
+                        .formatted(count, seconds);
         Component message = Component
-                .literal("🔥 A normal skeleton tried to spawn in a Fortress but was blocked! 🔥")
+                .literal(summary)
                 .withStyle(ChatFormatting.GOLD, ChatFormatting.BOLD)
                 .append(Component
                         .literal("\nLocation: %d, %d, %d".formatted(position.getX(), position.getY(), position.getZ()))
                         .withStyle(ChatFormatting.YELLOW)
                         .withStyle(style -> style.withClickEvent(
-                                new net.minecraft.network.chat.ClickEvent(
-                                        net.minecraft.network.chat.ClickEvent.Action.RUN_COMMAND,
+                                new ClickEvent(
+                                        ClickEvent.Action.RUN_COMMAND,
                                         "/tp @p %d %d %d".formatted(position.getX(), position.getY(), position.getZ())
                                 )
                         ))
                 );
 
-        // Send to all players on the server
-        for (ServerPlayer player : level.getServer().getPlayerList().getPlayers()) {
-            player.sendSystemMessage(message);
+        // Send to all players on the server that want to be notified
+        for (ServerPlayer player : server.getPlayerList().getPlayers()) {
+            if (shouldNotify(player)) {
+                player.sendSystemMessage(message);
+            }
         }
 
         if (getConfig().shouldDebugLog()) {
-            getLogger().info("Broadcasted skeleton block message for spawn at {}", position);
+            getLogger().info("Broadcasted skeleton block message for {} spawns near {}", count, position);
+        }
+    }
+
+    /**
+     * Spawns up to max_replacements_per_tick queued Wither Skeletons. The rest stay queued for
+     * the next tick; replacements whose chunk was unloaded or is full, or whose position has no
+     * room for a Wither Skeleton, are dropped.
+     */
+    private void spawnPendingReplacements() {
+        WitherSkeletonConfig.Snapshot config = getConfig().getSnapshot();
+        int budget = config.maxReplacementsPerTick();
+        int maxPerChunk = config.maxMonstersPerChunk();
+        while (budget > 0 && !pendingReplacements.isEmpty()) {
+            ServerLevel level = pendingReplacements.peekLevel();
+            double x = pendingReplacements.peekX();
+            double y = pendingReplacements.peekY();
+            double z = pendingReplacements.peekZ();
+            float yRot = pendingReplacements.peekYRot();
+            float xRot = pendingReplacements.peekXRot();
+            MobSpawnType spawnType = pendingReplacements.peekSpawnType();
+            pendingReplacements.pop();
+
+            BlockPos position = BlockPos.containing(x, y, z);
+            if (!level.isLoaded(position)) {
+                continue;
+            }
+            // A Wither Skeleton is taller than the skeleton it replaces, so the position is checked again
+            if (!SpawnPlacements.isSpawnPositionOk(EntityType.WITHER_SKELETON, level, position)
+                    || !level.noCollision(EntityType.WITHER_SKELETON.getSpawnAABB(x, y, z))) {
+                if (getConfig().shouldDebugLog()) {
+                    getLogger().debug("No room for a Wither Skeleton at {}, not replacing skeleton", position);
+                }
+                continue;
+            }
+            if (isAtGlobalMonsterCap(level) || countMonstersInChunk(level, position) >= maxPerChunk) {
+                if (getConfig().shouldDebugLog()) {
+                    getLogger().debug("Monster cap reached at {}, not replacing skeleton", position);
+                }
+                continue;
+            }
+
+            replaceWithWitherSkeleton(level, x, y, z, yRot, xRot, spawnType);
+            budget--;
         }
     }
 
     /**
-     * Replaces the blocked skeleton with a Wither Skeleton
+     * Checks the level's MONSTER category cap, as computed by the last natural spawn cycle.
+     * Mirrors the global check in NaturalSpawner. Without a spawn cycle yet, or without chunks
+     * near players, there is no natural cap, and spawns from e.g. commands are not limited.
+     */
+    private static boolean isAtGlobalMonsterCap(ServerLevel level) {
+        NaturalSpawner.SpawnState spawnState = level.getChunkSource().getLastSpawnState();
+        if (spawnState == null || spawnState.getSpawnableChunkCount() == 0) {
+            return false;
+        }
+        int cap = MobCategory.MONSTER.getMaxInstancesPerChunk() * spawnState.getSpawnableChunkCount()
+                / NATURAL_SPAWNER_CHUNK_AREA;
+        return spawnState.getMobCategoryCounts().getInt(MobCategory.MONSTER) >= cap;
+    }
+
+    private static int countMonstersInChunk(ServerLevel level, BlockPos position) {
+        int minX = SectionPos.sectionToBlockCoord(SectionPos.blockToSectionCoord(position.getX()));
+        int minZ = SectionPos.sectionToBlockCoord(SectionPos.blockToSectionCoord(position.getZ()));
+        AABB chunkBounds = new AABB(minX, level.getMinBuildHeight(), minZ,
+                minX + 16, level.getMaxBuildHeight(), minZ + 16);
+        return level.getEntitiesOfClass(Mob.class, chunkBounds,
+                mob -> mob.isAlive() && mob.getType().getCategory() == MobCategory.MONSTER).size();
+    }
+
+    /**
+     * Spawns a Wither Skeleton in place of a blocked skeleton
      */
-    private void replaceWithWitherSkeleton(ServerLevel level, Skeleton originalSkeleton, MobSpawnType spawnType) {
+    private void replaceWithWitherSkeleton(ServerLevel level, double x, double y, double z, float yRot, float xRot,
+                                           MobSpawnType spawnType) {
         try {
             // Create a new Wither Skeleton at the same position
             WitherSkeleton witherSkeleton = EntityType.WITHER_SKELETON.create(level);
@@ -171,8 +473,7 @@ public class WitherSkeletonModule
             }
 
             // Copy position and rotation from the original skeleton
-            witherSkeleton.moveTo(originalSkeleton.getX(), originalSkeleton.getY(), originalSkeleton.getZ(),
-                    originalSkeleton.getYRot(), originalSkeleton.getXRot());
+            witherSkeleton.moveTo(x, y, z, yRot, xRot);
 
             // Finalize the spawn with the same spawn type
             witherSkeleton.finalizeSpawn(level, level.getCurrentDifficultyAt(witherSkeleton.blockPosition()),
@@ -0,0 +1,174 @@
+package net.geraldhofbauer.vanillaplusadditions.modules.wither_skeleton.config;
+
+import net.geraldhofbauer.vanillaplusadditions.core.AbstractModuleConfig;
+import net.geraldhofbauer.vanillaplusadditions.modules.wither_skeleton.WitherSkeletonModule;
+import net.neoforged.neoforge.common.ModConfigSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Configuration class for the Wither Skeleton module.
+ * This class handles the options for blocked skeleton spawn messages.
+ */
+public class WitherSkeletonConfig extends AbstractModuleConfig<WitherSkeletonModule, WitherSkeletonConfig> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WitherSkeletonConfig.class);
+
+    // Module-specific configuration values - enabled and debugLogging are handled by AbstractModuleConfig
+    private ModConfigSpec.IntValue messageInterval;
+    private ModConfigSpec.IntValue maxMessagesPerSecond;
+    private ModConfigSpec.BooleanValue notifyPlayersByDefault;
+    private ModConfigSpec.IntValue maxReplacementsPerTick;
+    private ModConfigSpec.IntValue maxMonstersPerChunk;
+
+    // Values copied in onConfigLoad, replaced as a whole on reload
+    private volatile Snapshot snapshot = Snapshot.DEFAULT;
+
+    /**
+     * Creates a new WitherSkeletonConfig.
+     *
+     * @param module The module this configuration belongs to
+     */
+    public WitherSkeletonConfig(WitherSkeletonModule module) {
+        super(module);
+    }
+
+    @Override
+    protected void buildModuleSpecificConfig(ModConfigSpec.Builder builder) {
+        messageInterval = builder
+                .comment("Interval in seconds in which blocked skeleton spawns are summarized into one message "
+                        + "per region")
+                .defineInRange("message_interval", 30, 1, 3600);
+
+        maxMessagesPerSecond = builder
+                .comment("Maximum number of blocked spawn messages sent per second. Regions over the limit "
+                        + "are reported in a later interval.")
+                .defineInRange("max_messages_per_second", 3, 1, 100);
+
+        notifyPlayersByDefault = builder
+                .comment("Whether players receive blocked spawn messages unless they turn them off "
+                        + "with /skeletonnotify")
+                .define("notify_players_by_default", true);
+
+        maxReplacementsPerTick = builder
+                .comment("Maximum number of Wither Skeletons spawned per tick to replace blocked skeletons. "
+                        + "Replacements are queued and spawned at the end of the tick.")
+                .defineInRange("max_replacements_per_tick", 4, 1, 64);
+
+        maxMonstersPerChunk = builder
+                .comment("No replacement is spawned in a chunk that already has this many monsters "
+                        + "(any MONSTER category mob). Replacements also stop while the level is at its "
+                        + "global monster spawn cap.")
+                .defineInRange("max_monsters_per_chunk", 8, 1, 256);
+
+        LOGGER.debug("Built module-specific configuration for Wither Skeleton module");
+    }
+
+    @Override
+    public void onConfigLoad(ModConfigSpec spec) {
+        super.onConfigLoad(spec); // Call parent to handle enabled logging
+        if (messageInterval != null && maxMessagesPerSecond != null && notifyPlayersByDefault != null
+                && maxReplacementsPerTick != null && maxMonstersPerChunk != null) {
+            snapshot = new Snapshot(messageInterval.get(), maxMessagesPerSecond.get(), notifyPlayersByDefault.get(),
+                    maxReplacementsPerTick.get(), maxMonstersPerChunk.get());
+        }
+        if (shouldDebugLog() && messageInterval != null) {
+            LOGGER.debug("Module-specific configuration loaded for Wither Skeleton module");
+            LOGGER.debug("  - Message interval: {} seconds", messageInterval.get());
+            LOGGER.debug("  - Max messages per second: {}", maxMessagesPerSecond.get());
+            LOGGER.debug("  - Notify players by default: {}", notifyPlayersByDefault.get());
+            LOGGER.debug("  - Max replacements per tick: {}", maxReplacementsPerTick.get());
+            LOGGER.debug("  - Max monsters per chunk: {}", maxMonstersPerChunk.get());
+        }
+    }
+
+    /**
+     * Gets the configured message interval.
+     *
+     * @return message interval in seconds, or default value if not configured
+     */
+    public int getMessageIntervalValue() {
+        return snapshot.messageInterval();
+    }
+
+    /**
+     * Gets the configured maximum number of messages per second.
+     *
+     * @return maximum messages per second, or default value if not configured
+     */
+    public int getMaxMessagesPerSecondValue() {
+        return snapshot.maxMessagesPerSecond();
+    }
+
+    /**
+     * Gets whether players are notified unless they opted out.
+     *
+     * @return true if players are notified by default, or default value if not configured
+     */
+    public boolean getNotifyPlayersByDefaultValue() {
+        return snapshot.notifyPlayersByDefault();
+    }
+
+    /**
+     * Gets the configured maximum number of replacements spawned per tick.
+     *
+     * @return maximum replacements per tick, or default value if not configured
+     */
+    public int getMaxReplacementsPerTickValue() {
+        return snapshot.maxReplacementsPerTick();
+    }
+
+    /**
+     * Gets the configured number of monsters at which a chunk gets no more replacements.
+     *
+     * @return maximum monsters per chunk, or default value if not configured
+     */
+    public int getMaxMonstersPerChunkValue() {
+        return snapshot.maxMonstersPerChunk();
+    }
+
+    /**
+     * Gets the values of the last config load as one immutable snapshot.
+     *
+     * @return The current snapshot, or the defaults if the config is not loaded yet
+     */
+    public Snapshot getSnapshot() {
+        return snapshot;
+    }
+
+    public ModConfigSpec.IntValue getMessageInterval() {
+        return messageInterval;
+    }
+
+    public ModConfigSpec.IntValue getMaxMessagesPerSecond() {
+        return maxMessagesPerSecond;
+    }
+
+    public ModConfigSpec.BooleanValue getNotifyPlayersByDefault() {
+        return notifyPlayersByDefault;
+    }
+
+    public ModConfigSpec.IntValue getMaxReplacementsPerTick() {
+        return maxReplacementsPerTick;
+    }
+
+    public ModConfigSpec.IntValue getMaxMonstersPerChunk() {
+        return maxMonstersPerChunk;
+    }
+
+    /**
+     * Immutable copy of the module-specific configuration values.
+     *
+     * @param messageInterval            Interval in seconds for summarized blocked spawn messages
+     * @param maxMessagesPerSecond       Maximum number of blocked spawn messages per second
+     * @param notifyPlayersByDefault     Whether players are notified unless they opted out
+     * @param maxReplacementsPerTick     Maximum number of replacements spawned per tick
+     * @param maxMonstersPerChunk        Monster count at which a chunk gets no more replacements
+     */
+    public record Snapshot(int messageInterval,
+                           int maxMessagesPerSecond,
+                           boolean notifyPlayersByDefault,
+                           int maxReplacementsPerTick,
+                           int maxMonstersPerChunk) {
+        static final Snapshot DEFAULT = new Snapshot(30, 3, true, 4, 8);
+    }
+}